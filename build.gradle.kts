@@ -2,6 +2,7 @@ import io.github.zap.build.gradle.convention.*
 
 plugins {
     id("io.github.zap.build.gradle.convention.lib") version "1.1.0"
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 dependencies {
@@ -10,4 +11,14 @@ dependencies {
     implementation("com.google.inject:guice:5.0.1")
 }
 
+jmh {
+    jmhVersion.set("1.33")
+    profilers.add("gc")
+}
+
+//the Paper API is only provided at compile time, but benchmarks run outside a server and need it on the classpath
+configurations.named("jmhRuntimeClasspath") {
+    extendsFrom(configurations.compileClasspath.get())
+}
+
 publishToZGpr()
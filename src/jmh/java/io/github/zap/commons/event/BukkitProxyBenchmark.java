@@ -0,0 +1,100 @@
+package io.github.zap.commons.event;
+
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatch of a Bukkit event through its {@link HandlerList} to proxy events, the same way Bukkit's plugin
+ * manager calls listeners. Compares a single proxy holding every handler against one proxy per handler, which is what
+ * separate calls to {@link Event#bukkitProxy} produce.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BukkitProxyBenchmark {
+    public static class SharedBenchmarkEvent extends org.bukkit.event.Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+    }
+
+    public static class SeparateBenchmarkEvent extends org.bukkit.event.Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+    }
+
+    @Param({"1", "8", "64", "512"})
+    public int handlers;
+
+    private final SharedBenchmarkEvent sharedEvent = new SharedBenchmarkEvent();
+    private final SeparateBenchmarkEvent separateEvent = new SeparateBenchmarkEvent();
+    private int sink;
+
+    @Setup
+    public void setUp() {
+        //registration only needs a plugin to identify listeners; none of its methods are called
+        Plugin plugin = (Plugin)Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class[] {Plugin.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+
+        Event<SharedBenchmarkEvent> shared = Event.bukkitProxy(plugin, SharedBenchmarkEvent.class, EventPriority.NORMAL,
+                false);
+        for(int i = 0; i < handlers; i++) {
+            shared.addHandler((sender, args) -> sink++);
+            Event.bukkitProxy(plugin, SeparateBenchmarkEvent.class, EventPriority.NORMAL, false)
+                    .addHandler((sender, args) -> sink++);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        HandlerList.unregisterAll();
+    }
+
+    private static void callEvent(org.bukkit.event.Event event) throws EventException {
+        for(RegisteredListener listener : event.getHandlers().getRegisteredListeners()) {
+            listener.callEvent(event);
+        }
+    }
+
+    @Benchmark
+    public int singleProxy() throws EventException {
+        callEvent(sharedEvent);
+        return sink;
+    }
+
+    @Benchmark
+    public int proxyPerHandler() throws EventException {
+        callEvent(separateEvent);
+        return sink;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.zap.commons.event;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ConcurrentEvent} against {@link Event#synchronize()} when several threads invoke the same event,
+ * with and without another thread concurrently adding and removing handlers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentEventBenchmark {
+    @Param({"1", "8", "64"})
+    public int handlers;
+
+    private Event<Object> concurrent;
+    private Event<Object> synchronizedEvent;
+
+    private final EventHandler<Object> churnHandler = (sender, args) -> {};
+
+    @Setup
+    public void setUp() {
+        concurrent = new ConcurrentEvent<>();
+        synchronizedEvent = new SimpleEvent<>().synchronize();
+
+        for(int i = 0; i < handlers; i++) {
+            //anonymous classes rather than lambdas, so each handler is a distinct instance
+            EventHandler<Object> handler = new EventHandler<>() {
+                @Override
+                public void invoke(Object sender, Object args) {}
+            };
+
+            concurrent.addHandler(handler);
+            synchronizedEvent.addHandler(handler);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void concurrentInvoke() {
+        concurrent.invoke(this, this);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void synchronizedInvoke() {
+        synchronizedEvent.invoke(this, this);
+    }
+
+    @Benchmark
+    @Group("concurrentMixed")
+    @GroupThreads(3)
+    public void concurrentMixedInvoke() {
+        concurrent.invoke(this, this);
+    }
+
+    @Benchmark
+    @Group("concurrentMixed")
+    @GroupThreads(1)
+    public void concurrentMixedModify() {
+        concurrent.addHandler(churnHandler);
+        concurrent.removeHandler(churnHandler);
+    }
+
+    @Benchmark
+    @Group("synchronizedMixed")
+    @GroupThreads(3)
+    public void synchronizedMixedInvoke() {
+        synchronizedEvent.invoke(this, this);
+    }
+
+    @Benchmark
+    @Group("synchronizedMixed")
+    @GroupThreads(1)
+    public void synchronizedMixedModify() {
+        synchronizedEvent.addHandler(churnHandler);
+        synchronizedEvent.removeHandler(churnHandler);
+    }
+}
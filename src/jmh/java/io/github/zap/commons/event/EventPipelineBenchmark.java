@@ -0,0 +1,63 @@
+package io.github.zap.commons.event;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a compiled {@link EventPipeline} against the equivalent chain of {@link Event#filter}, {@link Event#mapTo}
+ * and {@link Event#linkTo} wrappers. With no handlers on the mapped target, the pipeline should skip mapping entirely;
+ * run with the gc profiler to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventPipelineBenchmark {
+    private record Mapped(int value) {}
+
+    @Param({"0", "1"})
+    public int targetHandlers;
+
+    //cached box, so the only allocation left is the one made by the mapping function
+    private final Integer argument = 2;
+
+    private Event<Integer> wrapped;
+    private Event<Integer> fused;
+    private Object sink;
+
+    @Setup
+    public void setUp() {
+        Event<Integer> linked = new SimpleEvent<>();
+        Event<Mapped> mapped = new SimpleEvent<>();
+        linked.addHandler((sender, args) -> sink = args);
+        for(int i = 0; i < targetHandlers; i++) {
+            mapped.addHandler((sender, args) -> sink = args);
+        }
+
+        //the outermost wrapper runs first, so the filter has to be applied last to gate both targets
+        wrapped = new SimpleEvent<Integer>().linkTo(linked).mapTo(mapped, Mapped::new).filter(args -> (args & 1) == 0);
+
+        fused = new SimpleEvent<>();
+        EventPipeline.<Integer>start()
+                .filter(args -> (args & 1) == 0)
+                .to(linked)
+                .map(Mapped::new)
+                .to(mapped)
+                .attachTo(fused);
+    }
+
+    @Benchmark
+    public Object wrappedChain() {
+        wrapped.invoke(this, argument);
+        return sink;
+    }
+
+    @Benchmark
+    public Object fusedPipeline() {
+        fused.invoke(this, argument);
+        return sink;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.zap.commons.event;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link SimpleEvent}: plain invocation, handler modification during invocation, removal (which triggers
+ * a rebuild of the handler array), and the overhead of the {@link Event#synchronize()}, {@link Event#filter} and
+ * {@link Event#mapTo} wrappers. Run with the gc profiler (configured in build.gradle.kts) to check allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SimpleEventBenchmark {
+    @Param({"1", "8", "64", "512"})
+    public int handlers;
+
+    //cached box, so invocation itself does not allocate
+    private final Integer argument = 1;
+
+    private SimpleEvent<Integer> event;
+    private SimpleEvent<Integer> modifyingEvent;
+    private Event<Integer> synchronizedEvent;
+    private Event<Integer> filteredEvent;
+    private Event<Integer> mappedEvent;
+    private EventHandler<Integer>[] handlerArray;
+    private int next;
+    private int sink;
+
+    private EventHandler<Integer> newHandler() {
+        //anonymous classes rather than lambdas, so each handler is a distinct instance
+        return new EventHandler<>() {
+            @Override
+            public void invoke(Object sender, Integer args) {
+                sink += args;
+            }
+        };
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        event = new SimpleEvent<>();
+        modifyingEvent = new SimpleEvent<>();
+        handlerArray = new EventHandler[handlers];
+
+        for(int i = 0; i < handlers; i++) {
+            handlerArray[i] = newHandler();
+            event.addHandler(handlerArray[i]);
+            modifyingEvent.addHandler(handlerArray[i]);
+        }
+
+        //one handler adds and removes another each invocation, exercising deferred modification and rebuild
+        EventHandler<Integer> churn = newHandler();
+        modifyingEvent.addHandler((sender, args) -> {
+            modifyingEvent.addHandler(churn);
+            modifyingEvent.removeHandler(churn);
+        });
+
+        synchronizedEvent = event.synchronize();
+        filteredEvent = event.filter(args -> args > 0);
+
+        Event<Integer> mapTarget = new SimpleEvent<>();
+        mapTarget.addHandler(newHandler());
+        mappedEvent = event.mapTo(mapTarget, args -> args + 1);
+    }
+
+    @Benchmark
+    public int invoke() {
+        event.invoke(this, argument);
+        return sink;
+    }
+
+    @Benchmark
+    public int invokeWithModification() {
+        modifyingEvent.invoke(this, argument);
+        return sink;
+    }
+
+    @Benchmark
+    public void removeAndAdd() {
+        //the handler removed is always the first one, so rebuild shifts the entire array
+        EventHandler<Integer> handler = handlerArray[next];
+        next = (next + 1) % handlers;
+
+        event.removeHandler(handler);
+        event.addHandler(handler);
+    }
+
+    @Benchmark
+    public int synchronizedInvoke() {
+        synchronizedEvent.invoke(this, argument);
+        return sink;
+    }
+
+    @Benchmark
+    public int filteredInvoke() {
+        filteredEvent.invoke(this, argument);
+        return sink;
+    }
+
+    @Benchmark
+    public int mappedInvoke() {
+        mappedEvent.invoke(this, argument);
+        return sink;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.zap.commons.graph;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures put/remove churn on an {@link ArrayChunkGraph} whose containers are already allocated. Run with the gc
+ * profiler (configured in build.gradle.kts) to confirm that gc.alloc.rate.norm stays at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ArrayChunkGraphBenchmark {
+    private static final int SIZE = 32;
+
+    private final Object element = new Object();
+    private ArrayChunkGraph<Object> graph;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        graph = new ArrayChunkGraph<>(-4, -4, 4, 4);
+
+        //fill every other block so no container ever becomes empty during churn
+        for(int x = -SIZE; x < SIZE; x++) {
+            for(int y = 0; y < SIZE; y++) {
+                for(int z = -SIZE; z < SIZE; z += 2) {
+                    graph.putElement(x, y, z, element);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void putRemoveChurn() {
+        int i = index++;
+        int x = (i & 63) - SIZE;
+        int y = (i >> 6) & 31;
+        int z = ((i >> 11) & 31) * 2 - SIZE + 1;
+
+        graph.putElement(x, y, z, element);
+        graph.removeElement(x, y, z);
+    }
+
+    @Benchmark
+    public void elementAt(Blackhole blackhole) {
+        int i = index++;
+        blackhole.consume(graph.elementAt((i & 63) - SIZE, (i >> 6) & 31, ((i >> 11) & 63) - SIZE));
+    }
+}
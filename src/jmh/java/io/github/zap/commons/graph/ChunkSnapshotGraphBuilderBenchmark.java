@@ -0,0 +1,137 @@
+package io.github.zap.commons.graph;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a walkability graph from synthetic flat-terrain snapshots, so the builder can be measured without a server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChunkSnapshotGraphBuilderBenchmark {
+    private static final int CHUNKS = 16;
+    private static final int GROUND_LEVEL = 64;
+
+    /**
+     * Flat world: stone below {@link #GROUND_LEVEL}, air above. Only the methods used by the builder are meaningful.
+     */
+    private record FlatChunkSnapshot(int getX, int getZ) implements ChunkSnapshot {
+        @Override
+        public @NotNull String getWorldName() {
+            return "synthetic";
+        }
+
+        @Override
+        public @NotNull Material getBlockType(int x, int y, int z) {
+            return y < GROUND_LEVEL ? Material.STONE : Material.AIR;
+        }
+
+        @Override
+        public @NotNull BlockData getBlockData(int x, int y, int z) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getData(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getBlockSkyLight(int x, int y, int z) {
+            return 15;
+        }
+
+        @Override
+        public int getBlockEmittedLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getHighestBlockYAt(int x, int z) {
+            return GROUND_LEVEL - 1;
+        }
+
+        @Override
+        public @NotNull Biome getBiome(int x, int z) {
+            return Biome.PLAINS;
+        }
+
+        @Override
+        public @NotNull Biome getBiome(int x, int y, int z) {
+            return Biome.PLAINS;
+        }
+
+        @Override
+        public double getRawBiomeTemperature(int x, int z) {
+            return 0.8;
+        }
+
+        @Override
+        public double getRawBiomeTemperature(int x, int y, int z) {
+            return 0.8;
+        }
+
+        @Override
+        public long getCaptureFullTime() {
+            return 0;
+        }
+
+        @Override
+        public boolean isSectionEmpty(int sy) {
+            return sy << 4 >= GROUND_LEVEL;
+        }
+
+        @Override
+        public boolean contains(@NotNull BlockData block) {
+            return false;
+        }
+    }
+
+    @Param({"1", "4"})
+    public int workerThreads;
+
+    private final List<ChunkSnapshot> snapshots = new ArrayList<>();
+    private ExecutorService workerExecutor;
+    private ExecutorService insertionExecutor;
+
+    @Setup
+    public void setUp() {
+        for(int x = 0; x < CHUNKS; x++) {
+            for(int z = 0; z < CHUNKS; z++) {
+                snapshots.add(new FlatChunkSnapshot(x, z));
+            }
+        }
+
+        workerExecutor = Executors.newFixedThreadPool(workerThreads);
+        insertionExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        workerExecutor.shutdown();
+        insertionExecutor.shutdown();
+    }
+
+    @Benchmark
+    public ChunkGraph<Boolean> build() {
+        ChunkGraph<Boolean> graph = new ArrayChunkGraph<>(0, 0, CHUNKS, CHUNKS);
+        new ChunkSnapshotGraphBuilder<>(graph, (snapshot, x, y, z) -> y > 0 &&
+                snapshot.getBlockType(x, y, z).isAir() && snapshot.getBlockType(x, y - 1, z).isSolid() ? Boolean.TRUE :
+                null, workerExecutor, insertionExecutor).build(snapshots).join();
+        return graph;
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.zap.commons;
+
+import io.github.zap.commons.event.EventHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * <p>Set of named lifecycle handlers with declared dependencies, run by {@link ReloadablePlugin} during a single phase
+ * (loading or enabling). Each handler starts on the executor as soon as every handler it depends on has completed, so
+ * independent handlers run in parallel. {@link LifecycleGraph#run(Object, Object, Executor, long)} blocks the calling
+ * thread until all handlers have finished, or the timeout elapses.</p>
+ *
+ * <p>If a handler throws, handlers depending on it (directly or indirectly) are not run; the remaining independent
+ * handlers still complete before the failure is reported. Unknown dependencies and dependency cycles are reported
+ * before any handler runs.</p>
+ * @param <T> The type of argument handlers will receive
+ */
+final class LifecycleGraph<T> {
+    private record Node<T>(String name, EventHandler<T> handler, String[] dependencies) {}
+
+    private final Map<String, Node<T>> nodes = new LinkedHashMap<>();
+
+    synchronized void add(@NotNull String name, @NotNull EventHandler<T> handler, @NotNull String... dependencies) {
+        Objects.requireNonNull(name, "name cannot be null");
+        Objects.requireNonNull(handler, "handler cannot be null");
+        Objects.requireNonNull(dependencies, "dependencies cannot be null");
+
+        for(String dependency : dependencies) {
+            Objects.requireNonNull(dependency, "dependency cannot be null");
+        }
+
+        if(nodes.containsKey(name)) {
+            throw new IllegalArgumentException("a handler named " + name + " is already registered");
+        }
+
+        nodes.put(name, new Node<>(name, handler, dependencies.clone()));
+    }
+
+    synchronized boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Runs every handler, blocking until all have completed.
+     * @param sender The sender passed to each handler
+     * @param args The argument passed to each handler
+     * @param executor The executor to run handlers on
+     * @param timeoutNanos The maximum time to wait for all handlers to complete, in nanoseconds
+     * @throws LoadFailureException If the dependencies are invalid, if any handler threw an exception, or if the
+     * handlers did not complete in time
+     */
+    void run(Object sender, T args, @NotNull Executor executor, long timeoutNanos) throws LoadFailureException {
+        List<Node<T>> order;
+        synchronized (this) {
+            order = sort();
+        }
+
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        for(Node<T> node : order) {
+            CompletableFuture<Void> future;
+            if(node.dependencies.length == 0) {
+                future = CompletableFuture.runAsync(() -> node.handler.invoke(sender, args), executor);
+            }
+            else {
+                CompletableFuture<?>[] dependencies = new CompletableFuture[node.dependencies.length];
+                for(int i = 0; i < dependencies.length; i++) {
+                    dependencies[i] = futures.get(node.dependencies[i]);
+                }
+
+                future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> node.handler.invoke(sender, args),
+                        executor);
+            }
+
+            futures.put(node.name, future);
+        }
+
+        //wait for everything, including handlers independent of a failed one, before reporting
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).get(timeoutNanos,
+                    TimeUnit.NANOSECONDS);
+        }
+        catch (ExecutionException ignored) {}
+        catch (TimeoutException exception) {
+            List<String> unfinished = new ArrayList<>();
+            List<Throwable> causes = new ArrayList<>();
+            for(Node<T> node : order) {
+                CompletableFuture<Void> future = futures.get(node.name);
+                if(!future.isDone()) {
+                    unfinished.add(node.name);
+                }
+                else {
+                    Throwable cause = failureOf(future);
+                    if(cause != null && !causes.contains(cause)) {
+                        causes.add(cause);
+                    }
+                }
+            }
+
+            //handlers that had already failed are reported too, not just the ones that ran out of time
+            LoadFailureException failure = new LoadFailureException("lifecycle handlers " + unfinished +
+                    " did not complete within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms", exception);
+            for(Throwable cause : causes) {
+                failure.addSuppressed(cause);
+            }
+
+            throw failure;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new LoadFailureException("interrupted while waiting for lifecycle handlers", exception);
+        }
+
+        LoadFailureException failure = null;
+        for(Node<T> node : order) {
+            Throwable cause = failureOf(futures.get(node.name));
+            if(cause != null) {
+                //dependents of a failed handler fail with the same cause; only report the handler that threw
+                if(failure == null) {
+                    failure = new LoadFailureException("lifecycle handler " + node.name + " failed", cause);
+                }
+                else if(!isSuppressed(failure, cause)) {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if(failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Throwable failureOf(CompletableFuture<Void> future) {
+        try {
+            future.join();
+            return null;
+        }
+        catch (CompletionException exception) {
+            return exception.getCause();
+        }
+    }
+
+    private static boolean isSuppressed(LoadFailureException failure, Throwable cause) {
+        if(failure.getCause() == cause) {
+            return true;
+        }
+
+        for(Throwable suppressed : failure.getSuppressed()) {
+            if(suppressed == cause) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    //depth-first topological sort, so every node comes after its dependencies
+    private List<Node<T>> sort() throws LoadFailureException {
+        List<Node<T>> order = new ArrayList<>(nodes.size());
+        Set<String> visited = new HashSet<>();
+        Set<String> visiting = new HashSet<>();
+
+        for(Node<T> node : nodes.values()) {
+            visit(node, order, visited, visiting);
+        }
+
+        return order;
+    }
+
+    private void visit(Node<T> node, List<Node<T>> order, Set<String> visited, Set<String> visiting)
+            throws LoadFailureException {
+        if(visited.contains(node.name)) {
+            return;
+        }
+
+        if(!visiting.add(node.name)) {
+            throw new LoadFailureException("lifecycle handler " + node.name + " is part of a dependency cycle");
+        }
+
+        for(String dependency : node.dependencies) {
+            Node<T> dependencyNode = nodes.get(dependency);
+            if(dependencyNode == null) {
+                throw new LoadFailureException("lifecycle handler " + node.name + " depends on unknown handler " +
+                        dependency);
+            }
+
+            visit(dependencyNode, order, visited, visiting);
+        }
+
+        visiting.remove(node.name);
+        visited.add(node.name);
+        order.add(node);
+    }
+}
@@ -4,4 +4,8 @@ public class LoadFailureException  extends Exception {
     public LoadFailureException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    public LoadFailureException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -5,8 +5,22 @@ import io.github.zap.commons.event.EventHandler;
 import io.github.zap.commons.event.SimpleEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * A reload-sensitive plugin. Provides events for loading, enabling, and disabling.
+ * <p>A reload-sensitive plugin. Provides events for loading, enabling, and disabling.</p>
+ *
+ * <p>Handlers registered without a name are called in order on the main thread. Load and enable handlers may also be
+ * registered with a name and a list of dependencies; these run after the unnamed handlers on a thread pool created
+ * for the phase (see {@link ReloadablePlugin#createLifecycleExecutor(int)}), each starting once the handlers it
+ * depends on have completed. Independent handlers, such as loading separate configuration files or building caches,
+ * therefore run in parallel. The main thread waits for all of them before the phase completes, up to
+ * {@link ReloadablePlugin#getLifecycleTimeout()}, after which the phase fails and the pool is shut down. Since they
+ * do not run on the main thread, such handlers must not use Bukkit API that requires it.</p>
  * @param <T> The subclass type
  */
 public abstract class ReloadablePlugin<T extends ReloadablePlugin<T>> extends BaseZapPlugin {
@@ -14,14 +28,19 @@ public abstract class ReloadablePlugin<T extends ReloadablePlugin<T>> extends Ba
     private final Event<T> enableEvent = new SimpleEvent<>();
     private final Event<T> disableEvent = new SimpleEvent<>();
 
+    private final LifecycleGraph<T> loadGraph = new LifecycleGraph<>();
+    private final LifecycleGraph<T> enableGraph = new LifecycleGraph<>();
+
     @Override
-    public final void doLoad() {
+    public final void doLoad() throws LoadFailureException {
         loadEvent.invoke(this, getPlugin());
+        runGraph(loadGraph);
     }
 
     @Override
-    public final void doEnable() {
+    public final void doEnable() throws LoadFailureException {
         enableEvent.invoke(this, getPlugin());
+        runGraph(enableGraph);
     }
 
     @Override
@@ -29,17 +48,84 @@ public abstract class ReloadablePlugin<T extends ReloadablePlugin<T>> extends Ba
         disableEvent.invoke(this, getPlugin());
     }
 
+    private void runGraph(LifecycleGraph<T> graph) throws LoadFailureException {
+        if(graph.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = createLifecycleExecutor(graph.size());
+        try {
+            graph.run(this, getPlugin(), executor, getLifecycleTimeout().toNanos());
+        }
+        finally { //interrupts any handler still running after a timeout
+            executor.shutdownNow();
+        }
+    }
+
     public void registerLoadHandler(@NotNull EventHandler<T> handler) {
         loadEvent.addHandler(handler);
     }
 
+    /**
+     * Registers a load handler that runs off the main thread once all of its dependencies have completed.
+     * @param name The unique name of this handler, which other handlers may depend on
+     * @param handler The handler
+     * @param dependencies The names of the load handlers that must complete before this one starts
+     */
+    public void registerLoadHandler(@NotNull String name, @NotNull EventHandler<T> handler,
+                                    @NotNull String... dependencies) {
+        loadGraph.add(name, handler, dependencies);
+    }
+
     public void registerEnableHandler(@NotNull EventHandler<T> handler) {
         enableEvent.addHandler(handler);
     }
 
+    /**
+     * Registers an enable handler that runs off the main thread once all of its dependencies have completed.
+     * @param name The unique name of this handler, which other handlers may depend on
+     * @param handler The handler
+     * @param dependencies The names of the enable handlers that must complete before this one starts
+     */
+    public void registerEnableHandler(@NotNull String name, @NotNull EventHandler<T> handler,
+                                      @NotNull String... dependencies) {
+        enableGraph.add(name, handler, dependencies);
+    }
+
     public void registerDisableHandler(@NotNull EventHandler<T> handler) {
         disableEvent.addHandler(handler);
     }
 
+    /**
+     * Creates the executor used to run the named handlers of a single phase. It is shut down once the phase ends. The
+     * default is a fixed pool of daemon threads, no larger than the number of handlers, whose context class loader is
+     * this plugin's class loader. The pool is sized for handlers that block on I/O rather than for CPU-bound work.
+     * @param handlerCount The number of named handlers in the phase
+     * @return A new executor
+     */
+    protected @NotNull ExecutorService createLifecycleExecutor(int handlerCount) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        String prefix = getName() + "-lifecycle-";
+        AtomicInteger threadCount = new AtomicInteger();
+
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        int threads = Math.min(handlerCount, Math.max(4, Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Returns the maximum time the main thread waits for the named handlers of a phase. Defaults to one minute.
+     * @return The timeout
+     */
+    protected @NotNull Duration getLifecycleTimeout() {
+        return Duration.ofMinutes(1);
+    }
+
     protected abstract @NotNull T getPlugin();
 }
@@ -0,0 +1,298 @@
+package io.github.zap.commons.event;
+
+import io.github.zap.commons.Disposable;
+import io.github.zap.commons.utils.ReflectionUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * <p>Registers the methods of an object annotated with {@link Subscribe} as event handlers. Each method is bound to an
+ * {@link EventHandler} generated with {@link LambdaMetafactory}, so calling it costs the same as calling a handwritten
+ * lambda, rather than going through {@link Method#invoke(Object, Object...)}. The annotated methods of each class are
+ * found once and cached, along with the factory that binds them to an instance.</p>
+ *
+ * <p>Methods are bound through a private lookup in their declaring class, obtained from the caller's
+ * {@link MethodHandles.Lookup} with {@link MethodHandles#privateLookupIn(Class, MethodHandles.Lookup)}, so the
+ * generated class is defined alongside the listener, in its class loader. Listeners in other plugins should pass their
+ * own {@code MethodHandles.lookup()}: the generated binding is only possible with a lookup that has full privilege
+ * access to the listener's module. Otherwise, for example when using the overloads without a lookup from another
+ * plugin, the method is called through a bound {@link MethodHandle} instead, which works but is slower.</p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class AnnotatedHandlers {
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType ACCEPT_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final class HandlerMethod {
+        private final Method method;
+        private final Class<?> argumentType;
+        private final int priority;
+        private final boolean takesSender;
+
+        //only created from and used with full privilege lookups in the declaring class, so it is never shared with a
+        //caller that could not have created it
+        private volatile MethodHandle factory;
+
+        private HandlerMethod(Method method, Class<?> argumentType, int priority, boolean takesSender) {
+            this.method = method;
+            this.argumentType = argumentType;
+            this.priority = priority;
+            this.takesSender = takesSender;
+        }
+    }
+
+    private static final ClassValue<List<HandlerMethod>> HANDLER_METHODS = new ClassValue<>() {
+        @Override
+        protected List<HandlerMethod> computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private AnnotatedHandlers() {}
+
+    private static List<HandlerMethod> scan(Class<?> type) {
+        List<HandlerMethod> handlerMethods = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+
+        //methods are ordered from the subclass upwards, so overridden methods are seen after their overrides
+        for(Map.Entry<Method, Subscribe> entry : ReflectionUtils.getAnnotatedMethods(type, Subscribe.class).entrySet()) {
+            Method method = entry.getKey();
+
+            //javac copies annotations onto bridge methods, which would register a second, unchecked handler
+            if(method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+
+            Class<?>[] parameters = method.getParameterTypes();
+
+            if(!signatures.add(method.getName() + Arrays.toString(parameters))) {
+                continue;
+            }
+
+            if(Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalArgumentException("handler method " + method + " cannot be static");
+            }
+
+            boolean takesSender = parameters.length == 2 && parameters[0] == Object.class;
+            if(!(takesSender || parameters.length == 1) || parameters[parameters.length - 1].isPrimitive()) {
+                throw new IllegalArgumentException("handler method " + method + " must take the event arguments, " +
+                        "optionally preceded by an Object sender");
+            }
+
+            handlerMethods.add(new HandlerMethod(method, parameters[parameters.length - 1], entry.getValue().priority(),
+                    takesSender));
+        }
+
+        handlerMethods.sort(Comparator.comparingInt((HandlerMethod handlerMethod) -> handlerMethod.priority)
+                .thenComparing(handlerMethod -> handlerMethod.method.getName()));
+        return List.copyOf(handlerMethods);
+    }
+
+    private static MethodHandle factory(HandlerMethod handlerMethod, MethodHandles.Lookup lookup) {
+        MethodHandle factory = handlerMethod.factory;
+        if(factory != null) {
+            return factory;
+        }
+
+        Method method = handlerMethod.method;
+        try {
+            MethodHandle implementation = lookup.unreflect(method);
+            Class<?> declaringClass = method.getDeclaringClass();
+
+            CallSite site;
+            if(handlerMethod.takesSender) {
+                site = LambdaMetafactory.metafactory(lookup, "invoke",
+                        MethodType.methodType(EventHandler.class, declaringClass), INVOKE_TYPE, implementation,
+                        MethodType.methodType(void.class, Object.class, handlerMethod.argumentType));
+            }
+            else { //Consumer rather than a private interface, as the generated class must be able to implement it
+                site = LambdaMetafactory.metafactory(lookup, "accept",
+                        MethodType.methodType(Consumer.class, declaringClass), ACCEPT_TYPE, implementation,
+                        MethodType.methodType(void.class, handlerMethod.argumentType));
+            }
+
+            factory = site.getTarget();
+        }
+        catch (IllegalAccessException | LambdaConversionException exception) {
+            throw new IllegalArgumentException("cannot bind handler method " + method, exception);
+        }
+
+        handlerMethod.factory = factory; //benign race; concurrent callers create equivalent factories
+        return factory;
+    }
+
+    private static MethodHandles.Lookup lookupIn(HandlerMethod handlerMethod, MethodHandles.Lookup callerLookup) {
+        Class<?> declaringClass = handlerMethod.method.getDeclaringClass();
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, callerLookup);
+        }
+        catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException("cannot bind handler method " + handlerMethod.method + "; pass a " +
+                    "lookup with access to " + declaringClass.getName(), exception);
+        }
+    }
+
+    private static EventHandler bindHandle(HandlerMethod handlerMethod, MethodHandles.Lookup lookup, Object listener) {
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(handlerMethod.method).bindTo(listener);
+        }
+        catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException("cannot bind handler method " + handlerMethod.method, exception);
+        }
+
+        if(handlerMethod.takesSender) {
+            MethodHandle invoker = handle.asType(INVOKE_TYPE);
+            return (sender, args) -> {
+                try {
+                    invoker.invokeExact(sender, args);
+                }
+                catch (RuntimeException | Error exception) {
+                    throw exception;
+                }
+                catch (Throwable throwable) {
+                    throw new IllegalStateException(throwable);
+                }
+            };
+        }
+
+        MethodHandle invoker = handle.asType(ACCEPT_TYPE);
+        return (sender, args) -> {
+            try {
+                invoker.invokeExact(args);
+            }
+            catch (RuntimeException | Error exception) {
+                throw exception;
+            }
+            catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        };
+    }
+
+    private static EventHandler bind(HandlerMethod handlerMethod, MethodHandles.Lookup callerLookup, Object listener) {
+        MethodHandles.Lookup lookup = lookupIn(handlerMethod, callerLookup);
+        if(!lookup.hasFullPrivilegeAccess()) {
+            //LambdaMetafactory cannot define a class through a lookup from another module (class loader)
+            return bindHandle(handlerMethod, lookup, listener);
+        }
+
+        try {
+            Object bound = factory(handlerMethod, lookup).invoke(listener);
+            if(handlerMethod.takesSender) {
+                return (EventHandler)bound;
+            }
+
+            Consumer consumer = (Consumer)bound;
+            return (sender, args) -> consumer.accept(args);
+        }
+        catch (RuntimeException | Error exception) {
+            throw exception;
+        }
+        catch (Throwable throwable) { //factories don't throw checked exceptions
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * Subscribes every annotated method of the listener to the bus, each to the type of its argument parameter.
+     * @param bus The bus to subscribe to
+     * @param listener The object whose annotated methods should be subscribed
+     * @param lookup A lookup with access to the listener's class, normally the caller's {@code MethodHandles.lookup()}
+     * @return A Disposable that unsubscribes every method subscribed by this call
+     */
+    public static @NotNull Disposable subscribeAll(@NotNull EventBus bus, @NotNull Object listener,
+                                                   @NotNull MethodHandles.Lookup lookup) {
+        Objects.requireNonNull(bus, "bus cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        Objects.requireNonNull(lookup, "lookup cannot be null");
+
+        List<HandlerMethod> handlerMethods = HANDLER_METHODS.get(listener.getClass());
+        Class[] types = new Class[handlerMethods.size()];
+        EventHandler[] handlers = new EventHandler[handlerMethods.size()];
+        for(int i = 0; i < handlers.length; i++) {
+            types[i] = handlerMethods.get(i).argumentType;
+            handlers[i] = bind(handlerMethods.get(i), lookup, listener);
+        }
+
+        for(int i = 0; i < handlers.length; i++) {
+            bus.subscribe(types[i], handlers[i]);
+        }
+
+        return () -> {
+            for(int i = 0; i < handlers.length; i++) {
+                bus.unsubscribe(types[i], handlers[i]);
+            }
+        };
+    }
+
+    /**
+     * See {@link AnnotatedHandlers#subscribeAll(EventBus, Object, MethodHandles.Lookup)}, using this library's
+     * lookup. Listeners loaded by another class loader are bound through slower method handles.
+     * @param bus The bus to subscribe to
+     * @param listener The object whose annotated methods should be subscribed
+     * @return A Disposable that unsubscribes every method subscribed by this call
+     */
+    public static @NotNull Disposable subscribeAll(@NotNull EventBus bus, @NotNull Object listener) {
+        return subscribeAll(bus, listener, MethodHandles.lookup());
+    }
+
+    /**
+     * Adds every annotated method of the listener that accepts arguments of the given type as a handler of the
+     * event, using the priority given by its annotation. Annotated methods accepting other types are ignored.
+     * @param event The event to add handlers to
+     * @param type The type of argument the event receives
+     * @param listener The object whose annotated methods should be added
+     * @param lookup A lookup with access to the listener's class, normally the caller's {@code MethodHandles.lookup()}
+     * @param <T> The type of argument the event receives
+     * @return A Disposable that removes every handler added by this call
+     */
+    public static <T> @NotNull Disposable addHandlers(@NotNull SimpleEvent<T> event, @NotNull Class<T> type,
+                                                      @NotNull Object listener, @NotNull MethodHandles.Lookup lookup) {
+        Objects.requireNonNull(event, "event cannot be null");
+        Objects.requireNonNull(type, "type cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        Objects.requireNonNull(lookup, "lookup cannot be null");
+
+        List<HandlerMethod> handlerMethods = new ArrayList<>();
+        for(HandlerMethod handlerMethod : HANDLER_METHODS.get(listener.getClass())) {
+            if(handlerMethod.argumentType.isAssignableFrom(type)) {
+                handlerMethods.add(handlerMethod);
+            }
+        }
+
+        EventHandler[] handlers = new EventHandler[handlerMethods.size()];
+        for(int i = 0; i < handlers.length; i++) {
+            handlers[i] = bind(handlerMethods.get(i), lookup, listener);
+        }
+
+        for(int i = 0; i < handlers.length; i++) {
+            event.addHandler(handlers[i], handlerMethods.get(i).priority);
+        }
+
+        return () -> {
+            for(EventHandler handler : handlers) {
+                event.removeHandler(handler);
+            }
+        };
+    }
+
+    /**
+     * See {@link AnnotatedHandlers#addHandlers(SimpleEvent, Class, Object, MethodHandles.Lookup)}, using this
+     * library's lookup. Listeners loaded by another class loader are bound through slower method handles.
+     * @param event The event to add handlers to
+     * @param type The type of argument the event receives
+     * @param listener The object whose annotated methods should be added
+     * @param <T> The type of argument the event receives
+     * @return A Disposable that removes every handler added by this call
+     */
+    public static <T> @NotNull Disposable addHandlers(@NotNull SimpleEvent<T> event, @NotNull Class<T> type,
+                                                      @NotNull Object listener) {
+        return addHandlers(event, type, listener, MethodHandles.lookup());
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+/**
+ * <p>{@link Event} implementation that calls its handlers on an {@link Executor} rather than on the invoking thread.
+ * This is intended for handlers that block, such as those performing I/O, which would otherwise stall the main
+ * thread. Each handler is submitted as a separate task, so with a multithreaded executor handlers run concurrently
+ * with each other as well as with the caller. On Java 19 and newer, a virtual thread executor
+ * ({@code Executors.newVirtualThreadPerTaskExecutor()}) is a good fit for handlers that mostly wait.</p>
+ *
+ * <p>Handler storage is the same as {@link ConcurrentEvent}, so handlers may be added and removed from any thread, and
+ * each invocation calls the handlers registered when it started. Handlers must be safe to call concurrently, as
+ * overlapping invocations may call the same handler at the same time. No ordering between handlers is guaranteed.</p>
+ *
+ * <p>When invoked through {@link AsyncEvent#invoke(Object, Object)}, each handler's exception is passed to the
+ * {@link ExceptionHandler} by the task that ran it, on the executor's thread; if the exception handler rethrows, the
+ * exception propagates to the executor. When invoked through {@link AsyncEvent#invokeAsync(Object, Object)}, once
+ * every handler has finished the first exception (in registration order) is passed to the exception handler with any
+ * others suppressed, on whichever executor thread finishes last; if the exception handler throws, the returned future
+ * completes exceptionally.</p>
+ *
+ * <p>If the executor rejects a handler's task, that handler and every handler after it are not called for that
+ * invocation, while handlers already submitted still run. The {@link RejectedExecutionException} is passed to the
+ * exception handler: immediately on the invoking thread by {@link AsyncEvent#invoke(Object, Object)}, or as the
+ * exception of the rejected handler by {@link AsyncEvent#invokeAsync(Object, Object)}.</p>
+ * @param <T> The type of argument handlers will receive
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class AsyncEvent<T> extends ConcurrentEvent<T> {
+    private final Executor executor;
+
+    public AsyncEvent(@NotNull Executor executor, @NotNull ExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+    }
+
+    public AsyncEvent(@NotNull Executor executor, @NotNull Logger logger) {
+        this(executor, ExceptionHandlers.logHandler(logger));
+    }
+
+    public AsyncEvent(@NotNull Executor executor) {
+        this(executor, ExceptionHandlers.rethrow());
+    }
+
+    /**
+     * Submits every registered handler to the executor and returns without waiting for them. Exceptions are passed to
+     * the exception handler by each task as it finishes.
+     * @param sender The object responsible for calling this method
+     * @param args The arguments to call each handler with
+     */
+    @Override
+    public void invoke(Object sender, T args) {
+        for(EventHandler handler : snapshot()) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        handler.invoke(sender, args);
+                    }
+                    catch (RuntimeException exception) {
+                        exceptionHandler.handle(exception);
+                    }
+                });
+            }
+            catch (RejectedExecutionException exception) {
+                exceptionHandler.handle(exception);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Submits every registered handler to the executor.
+     * @param sender The object responsible for calling this method
+     * @param args The arguments to call each handler with
+     * @return A future that completes once all handlers have finished and any exceptions have been passed to the
+     * exception handler
+     */
+    public @NotNull CompletableFuture<Void> invokeAsync(Object sender, T args) {
+        EventHandler[] handlers = snapshot();
+        if(handlers.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        //each slot is written by at most one task; allOf completing makes the writes visible to the final stage
+        RuntimeException[] exceptions = new RuntimeException[handlers.length];
+        CompletableFuture[] futures = new CompletableFuture[handlers.length];
+        for(int i = 0; i < handlers.length; i++) {
+            EventHandler handler = handlers[i];
+            int index = i;
+
+            try {
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        handler.invoke(sender, args);
+                    }
+                    catch (RuntimeException exception) {
+                        exceptions[index] = exception;
+                    }
+                }, executor);
+            }
+            catch (RejectedExecutionException exception) {
+                exceptions[i] = exception;
+                futures = Arrays.copyOf(futures, i); //don't wait for handlers that were never submitted
+                break;
+            }
+        }
+
+        return CompletableFuture.allOf(futures).thenRun(() -> {
+            RuntimeException first = null;
+            for(RuntimeException exception : exceptions) {
+                if(exception != null) {
+                    if(first == null) {
+                        first = exception;
+                    }
+                    else {
+                        first.addSuppressed(exception);
+                    }
+                }
+            }
+
+            if(first != null) {
+                exceptionHandler.handle(first);
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event that collects submitted arguments and passes them to its handlers as a single list, once per tick. The list
+ * contains every argument submitted since the previous flush, in submission order. Handlers are only called for
+ * ticks during which at least one argument was submitted.
+ *
+ * The list passed to handlers is an unmodifiable view of an internal buffer that is reused after the flush, so
+ * handlers must copy it if they need to keep it. The sender passed to handlers is this event.
+ *
+ * Calling {@link Event#invoke(Object, Object)} directly dispatches a list to handlers immediately, bypassing the
+ * buffer. See {@link Event#batchPerTick(TickScheduler)} for the usual way of creating an instance.
+ * @param <T> The type of argument submitted to this event
+ */
+public class BatchingEvent<T> extends TickCoalescingEvent<T, List<T>> {
+    private List<T> pending = new ArrayList<>();
+    private List<T> flushing = new ArrayList<>();
+
+    /**
+     * Creates a new BatchingEvent.
+     * @param source The event to collect arguments from while this event has handlers, or null to only collect
+     *               arguments passed to {@link BatchingEvent#submit(Object, Object)}
+     * @param scheduler The scheduler used to run the flush during the next tick
+     */
+    public BatchingEvent(@Nullable Event<T> source, @NotNull TickScheduler scheduler) {
+        super(source, scheduler);
+    }
+
+    @Override
+    void buffer(T args) {
+        pending.add(args);
+    }
+
+    @Override
+    void flush() {
+        List<T> batch = pending;
+        pending = flushing;
+        flushing = batch;
+
+        try {
+            invoke(this, Collections.unmodifiableList(batch));
+        }
+        finally {
+            batch.clear();
+        }
+    }
+}
@@ -7,39 +7,74 @@ import org.bukkit.plugin.EventExecutor;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredListener;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Objects;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 class BukkitProxy<T extends org.bukkit.event.Event> extends SimpleEvent<T> {
+    //reflective lookups are shared by every proxy of the same event class; ClassValue doesn't keep the class loaders
+    //of other plugins' events alive after they are unloaded
+    private static final ClassValue<HandlerList> HANDLER_LISTS = new ClassValue<>() {
+        @Override
+        protected HandlerList computeValue(Class<?> type) {
+            try {
+                return Objects.requireNonNull((HandlerList)type.getMethod("getHandlerList").invoke(null));
+            }
+            catch(NoSuchMethodException | IllegalAccessException | InvocationTargetException |
+                    NullPointerException exception) {
+                //not cached, so a later proxy of the same class will try again
+                throw new IllegalStateException("Failed to retrieve handler list", exception);
+            }
+        }
+    };
+
     private final Listener listener = new Listener() {};
 
     private final Plugin plugin;
     private final Class<T> bukkitEventClass;
     private final EventPriority priority;
     private final boolean ignoreCancelled;
+    private final Predicate<? super T> preFilter;
 
     private boolean reflectionFailed = false;
     private HandlerList handlerList = null;
     private RegisteredListener registeredListener;
 
     BukkitProxy(@NotNull Plugin plugin, @NotNull Class<T> bukkitEventClass, @NotNull EventPriority priority,
-                boolean ignoreCancelled) {
+                boolean ignoreCancelled, @NotNull HandlerMetrics metrics) {
+        super(ExceptionHandlers.rethrow(), DEFAULT_INITIAL_CAPACITY, metrics, bukkitEventClass.getName() + " (" +
+                priority + (ignoreCancelled ? ", ignoreCancelled)" : ")"));
+        this.plugin = Objects.requireNonNull(plugin, "plugin cannot be null");
+        this.bukkitEventClass = bukkitEventClass;
+        this.priority = priority;
+        this.ignoreCancelled = ignoreCancelled;
+        this.preFilter = null;
+    }
+
+    BukkitProxy(@NotNull Plugin plugin, @NotNull Class<T> bukkitEventClass, @NotNull EventPriority priority,
+                boolean ignoreCancelled, @Nullable Predicate<? super T> preFilter) {
         this.plugin = Objects.requireNonNull(plugin, "plugin cannot be null");
         this.bukkitEventClass = Objects.requireNonNull(bukkitEventClass, "bukkitEventClass cannot be null");
         this.priority = Objects.requireNonNull(priority, "priority cannot be null");
         this.ignoreCancelled = ignoreCancelled;
+        this.preFilter = preFilter;
+    }
+
+    BukkitProxy(@NotNull Plugin plugin, @NotNull Class<T> bukkitEventClass, @NotNull EventPriority priority,
+                boolean ignoreCancelled) {
+        this(plugin, bukkitEventClass, priority, ignoreCancelled, (Predicate<? super T>)null);
     }
 
     private HandlerList getHandlerList() {
         if(handlerList == null && !reflectionFailed) {
             try {
-                return (HandlerList)bukkitEventClass.getMethod("getHandlerList").invoke(null);
+                return HANDLER_LISTS.get(bukkitEventClass);
             }
-            catch(NoSuchMethodException | IllegalAccessException | InvocationTargetException |
-                    NullPointerException exception) {
-                plugin.getLogger().log(Level.WARNING, "Failed to retrieve handler list", exception);
+            catch(IllegalStateException exception) {
+                plugin.getLogger().log(Level.WARNING, exception.getMessage(), exception.getCause());
                 reflectionFailed = true;
             }
         }
@@ -48,10 +83,24 @@ class BukkitProxy<T extends org.bukkit.event.Event> extends SimpleEvent<T> {
     }
 
     private void register() {
+        //registration is rare compared to dispatch, so it is a cheap place to drop dead shared proxy entries
+        SharedBukkitProxies.expungeCollected();
         handlerList = getHandlerList();
 
-        //noinspection unchecked
-        EventExecutor executor = (ignored, event) -> invoke(this, (T)event);
+        //the filter is checked here, once per Bukkit event, before any handler bookkeeping takes place
+        EventExecutor executor;
+        if(preFilter == null) {
+            //noinspection unchecked
+            executor = (ignored, event) -> invoke(this, (T)event);
+        }
+        else {
+            //noinspection unchecked
+            executor = (ignored, event) -> {
+                if(preFilter.test((T)event)) {
+                    invoke(this, (T)event);
+                }
+            };
+        }
 
         if(handlerList != null) {
             registeredListener = new RegisteredListener(listener, executor, priority, plugin, ignoreCancelled);
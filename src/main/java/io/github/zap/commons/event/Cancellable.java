@@ -0,0 +1,18 @@
+package io.github.zap.commons.event;
+
+/**
+ * Interface for event arguments whose action may be cancelled by a handler. Mirrors Bukkit's
+ * {@link org.bukkit.event.Cancellable} for use with {@link CancellableEvent}.
+ */
+public interface Cancellable {
+    /**
+     * @return true if the action represented by this object has been cancelled; false otherwise
+     */
+    boolean isCancelled();
+
+    /**
+     * Sets the cancellation state of the action represented by this object.
+     * @param cancelled true to cancel the action; false to un-cancel it
+     */
+    void setCancelled(boolean cancelled);
+}
@@ -0,0 +1,145 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * <p>{@link SimpleEvent} whose arguments may be cancelled by handlers. Once a handler cancels the arguments (see
+ * {@link Cancellable#setCancelled(boolean)}), the remaining handlers are skipped, saving the cost of calling
+ * downstream handlers for an action that will not happen. This mirrors how Bukkit dispatches cancellable events.</p>
+ *
+ * <p>By default handlers ignore cancelled arguments. Handlers that need to observe cancelled arguments, for example to
+ * log them or to un-cancel them, can be added with ignoreCancelled set to false (see
+ * {@link CancellableEvent#addHandler(EventHandler, int, boolean)}). If such a handler un-cancels the arguments, later
+ * handlers are called again as normal. Arguments that are already cancelled when the event is invoked are only passed
+ * to handlers that do not ignore cancellation.</p>
+ *
+ * <p>Arguments passed to {@link Event#invoke(Object, Object)} must not be null. All other characteristics, including
+ * ordering, priorities and deferred modification during invocation, are the same as those of SimpleEvent.</p>
+ * @param <T> The type of argument handlers will receive
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class CancellableEvent<T extends Cancellable> extends SimpleEvent<T> {
+    /**
+     * Marks a handler that is called even if the arguments have been cancelled.
+     */
+    private record ReceivesCancelled<T>(@NotNull EventHandler<T> handler) implements WrappedHandler<T> {
+        @Override
+        public void invoke(Object sender, T args) {
+            handler.invoke(sender, args);
+        }
+    }
+
+    public CancellableEvent(@NotNull ExceptionHandler exceptionHandler, int initialCapacity,
+                            @NotNull HandlerMetrics metrics, @NotNull String name) {
+        super(exceptionHandler, initialCapacity, metrics, name);
+    }
+
+    public CancellableEvent(@NotNull ExceptionHandler exceptionHandler, int initialCapacity) {
+        super(exceptionHandler, initialCapacity);
+    }
+
+    public CancellableEvent(@NotNull ExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    public CancellableEvent(@NotNull Logger logger) {
+        super(logger);
+    }
+
+    public CancellableEvent() {
+        super();
+    }
+
+    /**
+     * Adds an event handler with the given priority.
+     * @param handler The handler to register
+     * @param priority The priority of the handler; see {@link SimpleEvent#addHandler(EventHandler, int)}
+     * @param ignoreCancelled true if this handler should be skipped once the arguments are cancelled; false if it
+     *                        should always be called
+     */
+    public void addHandler(@NotNull EventHandler<T> handler, int priority, boolean ignoreCancelled) {
+        Objects.requireNonNull(handler, "handler cannot be null");
+        addHandler(ignoreCancelled ? handler : new ReceivesCancelled<>(handler), priority);
+    }
+
+    /**
+     * Adds an event handler with the default priority.
+     * @param handler The handler to register
+     * @param ignoreCancelled true if this handler should be skipped once the arguments are cancelled; false if it
+     *                        should always be called
+     */
+    public void addHandler(@NotNull EventHandler<T> handler, boolean ignoreCancelled) {
+        addHandler(handler, DEFAULT_PRIORITY, ignoreCancelled);
+    }
+
+    @Override
+    void invokeInternal(Object sender, T args, EventHandler[] bakedHandlers, int size) {
+        if(recorder != null) {
+            invokeRecorded(sender, args, bakedHandlers, size);
+            return;
+        }
+
+        boolean cancelled = args.isCancelled();
+
+        RuntimeException first = null;
+        for(int i = 0; i < size; i++) {
+            EventHandler handler = bakedHandlers[i];
+
+            if(cancelled && !(handler instanceof ReceivesCancelled)) {
+                continue;
+            }
+
+            try {
+                handler.invoke(sender, args);
+            }
+            catch (RuntimeException exception) {
+                if(first == null) {
+                    first = exception;
+                }
+                else {
+                    first.addSuppressed(exception);
+                }
+            }
+
+            cancelled = args.isCancelled();
+        }
+
+        if(first != null) {
+            exceptionHandler.handle(first);
+        }
+    }
+
+    private void invokeRecorded(Object sender, T args, EventHandler[] bakedHandlers, int size) {
+        boolean cancelled = args.isCancelled();
+
+        RuntimeException first = null;
+        for(int i = 0; i < size; i++) {
+            EventHandler handler = bakedHandlers[i];
+
+            if(cancelled && !(handler instanceof ReceivesCancelled)) {
+                continue;
+            }
+
+            try {
+                recorder.invoke(handler, sender, args);
+            }
+            catch (RuntimeException exception) {
+                if(first == null) {
+                    first = exception;
+                }
+                else {
+                    first.addSuppressed(exception);
+                }
+            }
+
+            cancelled = args.isCancelled();
+        }
+
+        if(first != null) {
+            exceptionHandler.handle(first);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.zap.commons.event;
+
+import org.apache.commons.lang.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Isolates event handlers from each other's failures, and stops calling handlers that keep failing. This protects
+ * tick time from a handler that throws on every invocation (for example, after a partial reload), which would
+ * otherwise run every time, build a chain of suppressed exceptions in its event and flood the log.</p>
+ *
+ * <p>Handlers are protected by decorating them with {@link CircuitBreaker#protect(EventHandler)}, or by adding them
+ * through the wrapper returned by {@link CircuitBreaker#protect(Event)}. A protected handler catches its own
+ * exceptions, as well as {@link LinkageError}s such as {@link NoClassDefFoundError} (typical of code left behind by a
+ * reload), so they never reach the event. Once a handler fails a given number of times in a row within the failure
+ * window, it is disabled ("tripped") and skipped for the cooldown period. After the cooldown the handler is called
+ * again; if its first call fails, it is disabled again straight away, otherwise it resumes as normal.</p>
+ *
+ * <p>Logging is rate-limited: at most one failure is logged per log interval, with a count of the failures that were
+ * not logged. Disabling and re-enabling a handler are always logged. CircuitBreaker is also an
+ * {@link ExceptionHandler}, logging exceptions from unprotected handlers with the same rate limit.</p>
+ *
+ * <p>Like {@link SimpleEvent}, this class is not thread safe.</p>
+ */
+public class CircuitBreaker implements ExceptionHandler {
+    private final class ProtectedHandler<T> implements WrappedHandler<T> {
+        private final EventHandler<T> handler;
+
+        private int failures;
+        private long firstFailure;
+        private long disabledUntil;
+        private boolean disabled;
+        private boolean trial;
+
+        private ProtectedHandler(EventHandler<T> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void invoke(Object sender, T args) {
+            if(disabled) {
+                if(clock.getAsLong() - disabledUntil < 0) {
+                    return;
+                }
+
+                disabled = false;
+                trial = true;
+                logger.info("Re-enabling event handler " + handler + " after cooldown");
+            }
+
+            try {
+                handler.invoke(sender, args);
+            }
+            catch (RuntimeException | LinkageError exception) {
+                failed(exception);
+                return;
+            }
+
+            failures = 0;
+            trial = false;
+        }
+
+        private void failed(Throwable exception) {
+            long now = clock.getAsLong();
+            if(!trial) {
+                if(failures == 0 || now - firstFailure > windowNanos) { //start a new window
+                    failures = 0;
+                    firstFailure = now;
+                }
+
+                failures++;
+            }
+
+            if(trial || failures >= failureThreshold) {
+                disabled = true;
+                disabledUntil = now + cooldownNanos;
+                failures = 0;
+                trial = false;
+                logger.log(Level.SEVERE, "Disabling event handler " + handler + " for " + cooldownNanos / 1_000_000L +
+                        " ms after repeated failures", exception);
+                return;
+            }
+
+            logFailure("Event handler " + handler + " failed", exception, now);
+        }
+
+        @Override
+        public @NotNull EventHandler<T> handler() {
+            return handler;
+        }
+    }
+
+    private final Logger logger;
+    private final int failureThreshold;
+    private final long windowNanos;
+    private final long cooldownNanos;
+    private final long logIntervalNanos;
+    private final LongSupplier clock;
+
+    private boolean logged;
+    private long lastLog;
+    private int unlogged;
+
+    /**
+     * Creates a new CircuitBreaker.
+     * @param logger The logger to log failures to
+     * @param failureThreshold The number of consecutive failures that disables a handler
+     * @param windowNanos The time within which the failures must occur, measured from the first, in nanoseconds
+     * @param cooldownNanos The time for which a handler is disabled, in nanoseconds
+     * @param logIntervalNanos The minimum time between logged failures, in nanoseconds
+     * @param clock The source of time, in nanoseconds
+     */
+    public CircuitBreaker(@NotNull Logger logger, int failureThreshold, long windowNanos, long cooldownNanos,
+                          long logIntervalNanos, @NotNull LongSupplier clock) {
+        Validate.isTrue(failureThreshold > 0, "failureThreshold must be positive");
+        Validate.isTrue(windowNanos >= 0, "windowNanos cannot be negative");
+        Validate.isTrue(cooldownNanos >= 0, "cooldownNanos cannot be negative");
+        Validate.isTrue(logIntervalNanos >= 0, "logIntervalNanos cannot be negative");
+
+        this.logger = Objects.requireNonNull(logger, "logger cannot be null");
+        this.failureThreshold = failureThreshold;
+        this.windowNanos = windowNanos;
+        this.cooldownNanos = cooldownNanos;
+        this.logIntervalNanos = logIntervalNanos;
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+    }
+
+    /**
+     * Creates a new CircuitBreaker using {@link System#nanoTime()}, which logs at most one failure per second.
+     * @param logger The logger to log failures to
+     * @param failureThreshold The number of consecutive failures that disables a handler
+     * @param window The time within which the failures must occur, measured from the first
+     * @param cooldown The time for which a handler is disabled
+     */
+    public CircuitBreaker(@NotNull Logger logger, int failureThreshold, @NotNull Duration window,
+                          @NotNull Duration cooldown) {
+        this(logger, failureThreshold, window.toNanos(), cooldown.toNanos(), Duration.ofSeconds(1).toNanos(),
+                System::nanoTime);
+    }
+
+    /**
+     * Decorates a handler so that its failures are isolated, counted, and disable it once they reach the threshold.
+     * The returned handler can be removed from events by passing the original handler to
+     * {@link Event#removeHandler(EventHandler)}.
+     * @param handler The handler to protect
+     * @param <T> The type of argument the handler receives
+     * @return The protected handler
+     */
+    public <T> @NotNull EventHandler<T> protect(@NotNull EventHandler<T> handler) {
+        return new ProtectedHandler<>(Objects.requireNonNull(handler, "handler cannot be null"));
+    }
+
+    /**
+     * Creates a wrapper around the given event, which protects every handler added through it (see
+     * {@link CircuitBreaker#protect(EventHandler)}). The returned event will otherwise have the same implementation
+     * characteristics as the given one.
+     * @param event The event to wrap
+     * @param <T> The type of argument the event receives
+     * @return A wrapper for the event, which protects its handlers
+     */
+    public <T> @NotNull Event<T> protect(@NotNull Event<T> event) {
+        Objects.requireNonNull(event, "event cannot be null");
+
+        return new WrappedEvent<>(event) {
+            @Override
+            public void addHandler(@NotNull EventHandler<T> handler) {
+                super.addHandler(protect(handler));
+            }
+        };
+    }
+
+    /**
+     * Logs the exception, subject to the rate limit.
+     * @param exception The exception that was caught by the event
+     */
+    @Override
+    public void handle(@NotNull RuntimeException exception) {
+        logFailure("Runtime exception(s) thrown by event handler(s)", exception, clock.getAsLong());
+    }
+
+    private void logFailure(String message, Throwable exception, long now) {
+        if(logged && now - lastLog < logIntervalNanos) {
+            unlogged++;
+            return;
+        }
+
+        if(unlogged > 0) {
+            message += " (" + unlogged + " more failure(s) not logged since the last message)";
+            unlogged = 0;
+        }
+
+        logged = true;
+        lastLog = now;
+        logger.log(Level.WARNING, message, exception);
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * <p>Thread-safe implementation of {@link Event}, intended for events that are invoked from multiple threads at once
+ * (such as asynchronous Bukkit events). Unlike {@link Event#synchronize()}, no lock is held while handlers run, so
+ * concurrent invocations proceed in parallel and a slow handler never blocks registration.</p>
+ *
+ * <p>Handlers are stored in an immutable array that is replaced as a whole (copy-on-write) whenever a handler is added
+ * or removed. Invoking the event is a single volatile read of the current array followed by a plain loop, making it
+ * wait-free. Adding and removing handlers publish a new array using compare-and-set, retrying if another thread
+ * modified the handlers concurrently. This makes modification comparatively expensive, so this class is best suited
+ * to events whose handlers change much less often than they are invoked.</p>
+ *
+ * <p>Each invocation calls the handlers that were registered when it started. Handlers added or removed while an
+ * invocation is in progress (by any thread, including from inside a handler) will only be reflected in subsequent
+ * invocations. Recursive invocation is permitted.</p>
+ *
+ * <p>Exceptions are handled in the same manner as {@link SimpleEvent}: all handlers are called, and the first
+ * {@link RuntimeException}, with any subsequent ones suppressed, is passed to the {@link ExceptionHandler}. Handlers
+ * are called in registration order (FIFO).</p>
+ * @param <T> The type of argument handlers will receive
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ConcurrentEvent<T> implements Event<T> {
+    private static final EventHandler[] EMPTY = new EventHandler[0];
+    private static final VarHandle HANDLERS;
+
+    static {
+        try {
+            HANDLERS = MethodHandles.lookup().findVarHandle(ConcurrentEvent.class, "handlers", EventHandler[].class);
+        }
+        catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    final ExceptionHandler exceptionHandler;
+
+    @SuppressWarnings("FieldMayBeFinal") //accessed through HANDLERS
+    private volatile EventHandler[] handlers = EMPTY;
+
+    public ConcurrentEvent(@NotNull ExceptionHandler exceptionHandler) {
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler, "exceptionHandler cannot be null");
+    }
+
+    public ConcurrentEvent(@NotNull Logger logger) {
+        this(ExceptionHandlers.logHandler(logger));
+    }
+
+    public ConcurrentEvent() {
+        this(ExceptionHandlers.rethrow());
+    }
+
+    @Override
+    public void invoke(Object sender, T args) {
+        EventHandler[] handlers = this.handlers;
+
+        RuntimeException first = null;
+        for(EventHandler handler : handlers) {
+            try {
+                handler.invoke(sender, args);
+            }
+            catch (RuntimeException exception) {
+                if(first == null) {
+                    first = exception;
+                }
+                else {
+                    first.addSuppressed(exception);
+                }
+            }
+        }
+
+        if(first != null) {
+            exceptionHandler.handle(first);
+        }
+    }
+
+    @Override
+    public void addHandler(@NotNull EventHandler<T> handler) {
+        Objects.requireNonNull(handler, "handler cannot be null");
+
+        EventHandler[] current;
+        EventHandler[] updated;
+        do {
+            current = handlers;
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = handler;
+        }
+        while(!HANDLERS.compareAndSet(this, current, updated));
+    }
+
+    @Override
+    public void removeHandler(@NotNull EventHandler<T> handler) {
+        EventHandler[] current;
+        EventHandler[] updated;
+        do {
+            current = handlers;
+
+            int index = indexOf(current, handler);
+            if(index == -1) {
+                return;
+            }
+
+            if(current.length == 1) {
+                updated = EMPTY;
+            }
+            else {
+                updated = new EventHandler[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, updated.length - index);
+            }
+        }
+        while(!HANDLERS.compareAndSet(this, current, updated));
+    }
+
+    @Override
+    public boolean hasHandler(@NotNull EventHandler<T> handler) {
+        return indexOf(handlers, handler) != -1;
+    }
+
+    @Override
+    public void clearHandlers() {
+        handlers = EMPTY;
+    }
+
+    @Override
+    public int handlerCount() {
+        return handlers.length;
+    }
+
+    /**
+     * @return The handlers registered at the time of the call. The returned array must not be modified
+     */
+    EventHandler[] snapshot() {
+        return handlers;
+    }
+
+    private static int indexOf(EventHandler[] handlers, EventHandler handler) {
+        for(int i = 0; i < handlers.length; i++) {
+            if(SimpleEvent.matches(handlers[i], handler)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.zap.commons.event;
+
+import org.apache.commons.lang.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Passes the latest invocation on to the wrapped event once no invocations have occurred for a given number of ticks.
+ * See {@link Event#debounce(TickScheduler, long)}.
+ */
+class DebouncedEvent<T> extends WrappedEvent<T> {
+    private final TickScheduler scheduler;
+    private final long quietTicks;
+
+    private boolean scheduled;
+    private long lastInvocation;
+    private Object pendingSender;
+    private T pendingArgs;
+
+    DebouncedEvent(@NotNull Event<T> wrapped, @NotNull TickScheduler scheduler, long quietTicks) {
+        super(wrapped);
+        Validate.isTrue(quietTicks > 0, "quietTicks must be positive");
+
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+        this.quietTicks = quietTicks;
+    }
+
+    @Override
+    public void invoke(Object sender, T args) {
+        lastInvocation = scheduler.currentTick();
+        pendingSender = sender;
+        pendingArgs = args;
+
+        //a single task is kept pending, and pushed back on expiry if invocations arrived in the meantime
+        if(!scheduled) {
+            scheduled = true;
+            scheduler.runLater(this::expire, quietTicks);
+        }
+    }
+
+    private void expire() {
+        long quiet = scheduler.currentTick() - lastInvocation;
+        if(quiet < quietTicks) {
+            scheduler.runLater(this::expire, quietTicks - quiet);
+            return;
+        }
+
+        Object sender = pendingSender;
+        T args = pendingArgs;
+        scheduled = false;
+        pendingSender = null;
+        pendingArgs = null;
+
+        super.invoke(sender, args);
+    }
+}
@@ -44,6 +44,25 @@ public interface Event<T> {
      */
     void addHandler(@NotNull EventHandler<T> handler);
 
+    /**
+     * Adds an event handler that is only weakly referenced by this event. Once nothing else references the handler, it
+     * may be garbage collected, after which it is removed from this event the next time the event is invoked. This
+     * allows short-lived objects (such as those belonging to a single game round) to listen to long-lived events
+     * without having to remove their handlers manually.
+     *
+     * The caller must keep a strong reference to the handler for as long as it should be called, typically in a field
+     * of the object that owns it. A lambda or method reference passed directly to this method is referenced by nothing
+     * else, and may stop being called at any time.
+     *
+     * Weak handlers can be removed with {@link Event#removeHandler(EventHandler)} and found with
+     * {@link Event#hasHandler(EventHandler)} like any other handler. Until it is removed, a collected handler still
+     * counts towards {@link Event#handlerCount()}.
+     * @param handler The handler to register
+     */
+    default void addWeakHandler(@NotNull EventHandler<T> handler) {
+        addHandler(new WeakHandler<>(this, handler));
+    }
+
     /**
      * Removes a handler from this event, if it is present. If this function is called inside the body of a handler
      * while it is being invoked by this event, the newly-removed handler will still be called (if it wasn't already).
@@ -96,6 +115,82 @@ public interface Event<T> {
                 Objects.requireNonNull(priority, "priority cannot be null"), ignoreCancelled);
     }
 
+    /**
+     * Creates a proxy event that only passes on Bukkit events accepted by the given pre-filter. The filter is tested
+     * once per Bukkit event, directly in the registered executor, before any of the proxy's handlers are considered;
+     * this makes it much cheaper than {@link Event#filter(Predicate)} for discarding the majority of events, such as
+     * movement outside an arena (see {@link LocationFilter}). Otherwise, the returned event behaves like one created
+     * by {@link Event#bukkitProxy(Plugin, Class, EventPriority, boolean)}.
+     * @param plugin The plugin to register the proxied Bukkit event under
+     * @param bukkitEventClass The class of the Bukkit event
+     * @param priority The EventPriority
+     * @param ignoreCancelled Whether this event ignores cancelled events
+     * @param preFilter The filter Bukkit events must pass to reach handlers
+     * @param <T> The type of Bukkit event
+     * @return An implementation of Event that is designed to proxy Bukkit's API
+     */
+    static <T extends org.bukkit.event.Event> Event<T> bukkitProxy(@NotNull Plugin plugin,
+                                                                   @NotNull Class<T> bukkitEventClass,
+                                                                   @NotNull EventPriority priority,
+                                                                   boolean ignoreCancelled,
+                                                                   @NotNull Predicate<? super T> preFilter) {
+        return new BukkitProxy<>(
+                Objects.requireNonNull(plugin, "plugin cannot be null"),
+                Objects.requireNonNull(bukkitEventClass, "bukkitEventClass cannot be null"),
+                Objects.requireNonNull(priority, "priority cannot be null"), ignoreCancelled,
+                Objects.requireNonNull(preFilter, "preFilter cannot be null"));
+    }
+
+    /**
+     * Returns a proxy event shared with every other caller that requests the same plugin, Bukkit event class, priority
+     * and cancellation behavior. However many subsystems listen to it, Bukkit sees a single registered listener for the
+     * shared proxy, so each Bukkit event is dispatched to the shared proxy only once. Otherwise, the returned event
+     * behaves like one created by {@link Event#bukkitProxy(Plugin, Class, EventPriority, boolean)}.
+     *
+     * Because the returned event is shared, callers should only remove handlers they added themselves;
+     * {@link Event#clearHandlers()} removes the handlers of every other caller too. Once the last handler is removed,
+     * the proxy unregisters from Bukkit; it is dropped from the registry once no caller references it any more, after
+     * which later calls create a new one.
+     * @param plugin The plugin to register the proxied Bukkit event under
+     * @param bukkitEventClass The class of the Bukkit event
+     * @param priority The EventPriority
+     * @param ignoreCancelled Whether this event ignores cancelled events
+     * @param <T> The type of Bukkit event
+     * @return A shared implementation of Event that is designed to proxy Bukkit's API
+     */
+    static <T extends org.bukkit.event.Event> Event<T> sharedBukkitProxy(@NotNull Plugin plugin,
+                                                                         @NotNull Class<T> bukkitEventClass,
+                                                                         @NotNull EventPriority priority,
+                                                                         boolean ignoreCancelled) {
+        return SharedBukkitProxies.get(
+                Objects.requireNonNull(plugin, "plugin cannot be null"),
+                Objects.requireNonNull(bukkitEventClass, "bukkitEventClass cannot be null"),
+                Objects.requireNonNull(priority, "priority cannot be null"), ignoreCancelled);
+    }
+
+    /**
+     * Creates an instrumented proxy event, which records statistics for each of its handlers in the given metrics. See
+     * {@link Event#bukkitProxy(Plugin, Class, EventPriority, boolean)} and {@link HandlerMetrics}.
+     * @param plugin The plugin to register the proxied Bukkit event under
+     * @param bukkitEventClass The class of the Bukkit event
+     * @param priority The EventPriority
+     * @param ignoreCancelled Whether this event ignores cancelled events
+     * @param metrics The metrics to record statistics in
+     * @param <T> The type of Bukkit event
+     * @return An implementation of Event that is designed to proxy Bukkit's API
+     */
+    static <T extends org.bukkit.event.Event> Event<T> bukkitProxy(@NotNull Plugin plugin,
+                                                                   @NotNull Class<T> bukkitEventClass,
+                                                                   @NotNull EventPriority priority,
+                                                                   boolean ignoreCancelled,
+                                                                   @NotNull HandlerMetrics metrics) {
+        return new BukkitProxy<>(
+                Objects.requireNonNull(plugin, "plugin cannot be null"),
+                Objects.requireNonNull(bukkitEventClass, "bukkitEventClass cannot be null"),
+                Objects.requireNonNull(priority, "priority cannot be null"), ignoreCancelled,
+                Objects.requireNonNull(metrics, "metrics cannot be null"));
+    }
+
     /**
      * See {@link Event#bukkitProxy(Plugin, Class, EventPriority, boolean)}. Event priority defaults to normal.
      * @param plugin The plugin to register the proxied Bukkit event under
@@ -196,6 +291,68 @@ public interface Event<T> {
         };
     }
 
+    /**
+     * Limits the rate at which this event is invoked. The first invocation is passed on immediately, after which
+     * further invocations within the same period are held back; at the end of the period, the latest of them is
+     * passed on and a new period starts. Intermediate invocations are dropped. This suits handlers that only need the
+     * most recent state, such as those updating scoreboards or boss bars. The returned event will otherwise have the
+     * same implementation characteristics as this one.
+     *
+     * Held back invocations are passed on from a scheduled task, on the main thread.
+     * @param scheduler The scheduler used to measure periods and run delayed invocations
+     * @param periodTicks The minimum number of ticks between invocations of this event
+     * @return A wrapper for this event, which limits the rate it is invoked at
+     */
+    default @NotNull Event<T> throttle(@NotNull TickScheduler scheduler, long periodTicks) {
+        return new ThrottledEvent<>(this, scheduler, periodTicks);
+    }
+
+    /**
+     * See {@link Event#throttle(TickScheduler, long)}. Uses the Bukkit scheduler.
+     * @param plugin The plugin to schedule tasks under
+     * @param periodTicks The minimum number of ticks between invocations of this event
+     * @return A wrapper for this event, which limits the rate it is invoked at
+     */
+    default @NotNull Event<T> throttle(@NotNull Plugin plugin, long periodTicks) {
+        return throttle(TickScheduler.bukkit(plugin), periodTicks);
+    }
+
+    /**
+     * Delays invocations of this event until no invocations have occurred for the given number of ticks, then passes
+     * on the latest one. Earlier invocations are dropped. The returned event will otherwise have the same
+     * implementation characteristics as this one.
+     *
+     * Invocations are passed on from a scheduled task, on the main thread.
+     * @param scheduler The scheduler used to measure time and run delayed invocations
+     * @param quietTicks The number of ticks without invocations required before this event is invoked
+     * @return A wrapper for this event, which debounces invocations
+     */
+    default @NotNull Event<T> debounce(@NotNull TickScheduler scheduler, long quietTicks) {
+        return new DebouncedEvent<>(this, scheduler, quietTicks);
+    }
+
+    /**
+     * See {@link Event#debounce(TickScheduler, long)}. Uses the Bukkit scheduler.
+     * @param plugin The plugin to schedule tasks under
+     * @param quietTicks The number of ticks without invocations required before this event is invoked
+     * @return A wrapper for this event, which debounces invocations
+     */
+    default @NotNull Event<T> debounce(@NotNull Plugin plugin, long quietTicks) {
+        return debounce(TickScheduler.bukkit(plugin), quietTicks);
+    }
+
+    /**
+     * Partitions this event by a key extracted from its arguments. Handlers registered on a partition are only called
+     * for arguments mapping to that partition's key, which is found with a single hash lookup per invocation rather
+     * than by testing a predicate per partition. See {@link PartitionedEvent}.
+     * @param keyMapper Function extracting the key from the arguments
+     * @param <K> The type of key
+     * @return The new PartitionedEvent
+     */
+    default @NotNull <K> PartitionedEvent<T, K> partitionBy(@NotNull Function<? super T, ? extends K> keyMapper) {
+        return new PartitionedEvent<>(this, keyMapper);
+    }
+
     /**
      * Links this event to another event. The other event's handlers will be invoked directly after this event's. The
      * returned event will otherwise have the same implementation characteristics as this one.
@@ -237,4 +394,96 @@ public interface Event<T> {
             }
         };
     }
+
+    /**
+     * Creates an event whose handlers receive every argument this event was invoked with during a tick, as a single
+     * list, once per tick. The returned event only listens to this one while it has handlers. See
+     * {@link BatchingEvent} for details.
+     * @param scheduler The scheduler used to run flushes on the main thread
+     * @return The new event
+     */
+    default @NotNull BatchingEvent<T> batchPerTick(@NotNull TickScheduler scheduler) {
+        return new BatchingEvent<>(this, scheduler);
+    }
+
+    /**
+     * See {@link Event#batchPerTick(TickScheduler)}. Uses the Bukkit scheduler.
+     * @param plugin The plugin used to schedule flushes on the main thread
+     * @return The new event
+     */
+    default @NotNull BatchingEvent<T> batchPerTick(@NotNull Plugin plugin) {
+        return batchPerTick(TickScheduler.bukkit(plugin));
+    }
+
+    /**
+     * Creates an event whose handlers receive, once per tick, the latest argument this event was invoked with for each
+     * key. The returned event only listens to this one while it has handlers. See {@link KeyedCoalescingEvent} for
+     * details.
+     * @param scheduler The scheduler used to run flushes on the main thread
+     * @param keyMapper Function extracting the key that arguments are coalesced by
+     * @param <K> The type of key
+     * @return The new event
+     */
+    default @NotNull <K> KeyedCoalescingEvent<T, K> coalescePerTick(@NotNull TickScheduler scheduler,
+                                                                    @NotNull Function<? super T, ? extends K> keyMapper) {
+        return new KeyedCoalescingEvent<>(this, scheduler, keyMapper);
+    }
+
+    /**
+     * See {@link Event#coalescePerTick(TickScheduler, Function)}. Uses the Bukkit scheduler.
+     * @param plugin The plugin used to schedule flushes on the main thread
+     * @param keyMapper Function extracting the key that arguments are coalesced by
+     * @param <K> The type of key
+     * @return The new event
+     */
+    default @NotNull <K> KeyedCoalescingEvent<T, K> coalescePerTick(@NotNull Plugin plugin,
+                                                                    @NotNull Function<? super T, ? extends K> keyMapper) {
+        return coalescePerTick(TickScheduler.bukkit(plugin), keyMapper);
+    }
+
+    /**
+     * Creates a wrapper around this event that records every invocation in the given journal before calling this
+     * event's handlers. Invocations that cannot be recorded are still passed on to this event; the failure is counted
+     * by the journal (see {@link EventJournal#dropped()}) and then passed to the given exception handler, after this
+     * event's handlers have been called. The returned event will otherwise have the same implementation
+     * characteristics as this one.
+     * @param journal The journal to record invocations in
+     * @param exceptionHandler The handler for exceptions thrown while recording
+     * @return A wrapper for this event, which records invocations
+     */
+    default @NotNull Event<T> recordTo(@NotNull EventJournal<T> journal, @NotNull ExceptionHandler exceptionHandler) {
+        Objects.requireNonNull(journal, "journal cannot be null");
+        Objects.requireNonNull(exceptionHandler, "exceptionHandler cannot be null");
+
+        return new WrappedEvent<>(this) {
+            @Override
+            public void invoke(Object sender, T args) {
+                RuntimeException failure = null;
+                try {
+                    journal.record(sender, args);
+                }
+                catch (RuntimeException exception) {
+                    failure = exception;
+                }
+
+                super.invoke(sender, args);
+
+                if(failure != null) {
+                    exceptionHandler.handle(failure);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a wrapper around this event that records every invocation in the given journal before calling this
+     * event's handlers. Invocations that cannot be recorded are still passed on to this event, and are only counted by
+     * the journal (see {@link EventJournal#dropped()}). The returned event will otherwise have the same
+     * implementation characteristics as this one.
+     * @param journal The journal to record invocations in
+     * @return A wrapper for this event, which records invocations
+     */
+    default @NotNull Event<T> recordTo(@NotNull EventJournal<T> journal) {
+        return recordTo(journal, exception -> {});
+    }
 }
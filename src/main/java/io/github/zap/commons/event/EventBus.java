@@ -0,0 +1,182 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * <p>Publish/subscribe event bus, dispatching by argument type. Handlers subscribe to a class, and receive every
+ * argument posted to the bus that is an instance of it, including instances of subclasses and implementations. This
+ * replaces declaring a separate {@link Event} for each type of argument.</p>
+ *
+ * <p>The first time an argument of a given concrete class is posted, the handlers of every matching type are resolved
+ * into a single array, which is cached for that class, so subsequent dispatch is a map lookup followed by a plain loop.
+ * Subscribing or unsubscribing only discards the cached arrays of the classes the change applies to. Classes are
+ * cached weakly, so posting an argument does not keep its class or class loader from being unloaded.</p>
+ *
+ * <p>Handlers are called in the order they subscribed, regardless of which type they subscribed to. Handlers may
+ * subscribe or unsubscribe during dispatch, in which case the change applies from the next post onwards. Posting to
+ * the bus from a handler is permitted. Exceptions are handled in the same manner as {@link SimpleEvent}.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class EventBus {
+    private static final EventHandler[] EMPTY = new EventHandler[0];
+
+    private record Subscription(long sequence, EventHandler handler) {}
+
+    private final ExceptionHandler exceptionHandler;
+    private final Map<Class<?>, List<Subscription>> subscriptions = new HashMap<>();
+    //weak keys, so classes that were posted once (for example by a plugin that has since been unloaded) aren't pinned
+    private final Map<Class<?>, EventHandler[]> dispatchCache = new WeakHashMap<>();
+    private long nextSequence;
+
+    public EventBus(@NotNull ExceptionHandler exceptionHandler) {
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler, "exceptionHandler cannot be null");
+    }
+
+    public EventBus(@NotNull Logger logger) {
+        this(ExceptionHandlers.logHandler(logger));
+    }
+
+    public EventBus() {
+        this(ExceptionHandlers.rethrow());
+    }
+
+    /**
+     * Subscribes a handler to arguments of the given type, including its subtypes.
+     * @param type The type of argument to receive
+     * @param handler The handler to subscribe
+     * @param <T> The type of argument
+     */
+    public <T> void subscribe(@NotNull Class<T> type, @NotNull EventHandler<? super T> handler) {
+        Objects.requireNonNull(type, "type cannot be null");
+        Objects.requireNonNull(handler, "handler cannot be null");
+
+        subscriptions.computeIfAbsent(type, key -> new ArrayList<>()).add(new Subscription(nextSequence++, handler));
+        invalidate(type);
+    }
+
+    /**
+     * Unsubscribes a handler from the given type, if it is subscribed. If the handler is subscribed multiple times,
+     * only the earliest subscription is removed.
+     * @param type The type the handler subscribed to
+     * @param handler The handler to unsubscribe
+     * @param <T> The type of argument
+     */
+    public <T> void unsubscribe(@NotNull Class<T> type, @NotNull EventHandler<? super T> handler) {
+        Objects.requireNonNull(type, "type cannot be null");
+
+        List<Subscription> typeSubscriptions = subscriptions.get(type);
+        if(typeSubscriptions == null) {
+            return;
+        }
+
+        for(Iterator<Subscription> iterator = typeSubscriptions.iterator(); iterator.hasNext();) {
+            if(SimpleEvent.matches(iterator.next().handler(), handler)) {
+                iterator.remove();
+                if(typeSubscriptions.isEmpty()) {
+                    subscriptions.remove(type);
+                }
+
+                invalidate(type);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Determines if any handlers would receive an argument of the given class.
+     * @param type The concrete class of the argument
+     * @return true if at least one handler would be called
+     */
+    public boolean hasSubscribers(@NotNull Class<?> type) {
+        return resolve(Objects.requireNonNull(type, "type cannot be null")).length > 0;
+    }
+
+    /**
+     * Calls every handler subscribed to the class of the argument, or to any of its superclasses or interfaces.
+     * @param sender The object responsible for calling this method
+     * @param args The argument to post, which cannot be null
+     */
+    public void post(Object sender, @NotNull Object args) {
+        EventHandler[] handlers = resolve(args.getClass());
+
+        RuntimeException first = null;
+        for(EventHandler handler : handlers) {
+            try {
+                handler.invoke(sender, args);
+            }
+            catch (RuntimeException exception) {
+                if(first == null) {
+                    first = exception;
+                }
+                else {
+                    first.addSuppressed(exception);
+                }
+            }
+        }
+
+        if(first != null) {
+            exceptionHandler.handle(first);
+        }
+    }
+
+    private EventHandler[] resolve(Class<?> type) {
+        EventHandler[] handlers = dispatchCache.get(type);
+        if(handlers == null) {
+            handlers = collect(type);
+            dispatchCache.put(type, handlers);
+        }
+
+        return handlers;
+    }
+
+    private EventHandler[] collect(Class<?> type) {
+        List<Subscription> matching = new ArrayList<>();
+        for(Class<?> supertype : hierarchy(type)) {
+            List<Subscription> typeSubscriptions = subscriptions.get(supertype);
+            if(typeSubscriptions != null) {
+                matching.addAll(typeSubscriptions);
+            }
+        }
+
+        if(matching.isEmpty()) {
+            return EMPTY;
+        }
+
+        matching.sort(Comparator.comparingLong(Subscription::sequence));
+        EventHandler[] handlers = new EventHandler[matching.size()];
+        for(int i = 0; i < handlers.length; i++) {
+            handlers[i] = matching.get(i).handler();
+        }
+
+        return handlers;
+    }
+
+    private static Set<Class<?>> hierarchy(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+
+        Class<?> next;
+        while((next = pending.poll()) != null) {
+            if(types.add(next)) {
+                if(next.getSuperclass() != null) {
+                    pending.add(next.getSuperclass());
+                }
+
+                pending.addAll(Arrays.asList(next.getInterfaces()));
+            }
+        }
+
+        return types;
+    }
+
+    private void invalidate(Class<?> type) {
+        //arrays in use by an ongoing post are replaced rather than modified, so it is unaffected
+        dispatchCache.keySet().removeIf(type::isAssignableFrom);
+    }
+}
@@ -0,0 +1,316 @@
+package io.github.zap.commons.event;
+
+import org.apache.commons.lang.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Fixed-capacity ring buffer of recorded event invocations, used to capture real event traffic and replay it later,
+ * for example to reproduce a lag spike or to measure handler throughput with production-shaped input. Each entry
+ * consists of a timestamp, the class of the sender and the arguments, which are serialized by a pluggable
+ * {@link EventSerializer}. Once the journal is full, each new entry overwrites the oldest one, reusing its storage, so a
+ * journal that has filled up records without allocating unless an entry is larger than the one it replaces.</p>
+ *
+ * <p>Invocations are recorded by an event returned from {@link Event#recordTo(EventJournal)}. A journal can be saved
+ * with {@link EventJournal#writeTo(OutputStream)} and loaded with {@link EventJournal#readFrom(InputStream,
+ * EventSerializer, int)}, and replayed against any event with {@link EventJournal#replay(Event, double)}.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ * @param <T> The type of argument recorded
+ */
+public final class EventJournal<T> {
+    private static final int MAGIC = 0x5A45564A; //ZEVJ
+    private static final int VERSION = 1;
+
+    /**
+     * A single recorded invocation.
+     * @param nanos The time at which the invocation was recorded, in nanoseconds. Only differences between timestamps
+     *              in the same journal are meaningful
+     * @param senderClass The name of the sender's class, or null if the sender was null
+     * @param args The arguments
+     */
+    public record Entry<T>(long nanos, @Nullable String senderClass, T args) {}
+
+    //exposes the internal array, so serialized arguments can be copied into a slot without an intermediate copy
+    private static final class Buffer extends ByteArrayOutputStream {
+        private byte[] array() {
+            return buf;
+        }
+    }
+
+    private final EventSerializer<T> serializer;
+    private final LongSupplier clock;
+
+    private final long[] timestamps;
+    private final String[] senderClasses;
+    private final byte[][] payloads;
+    private final int[] lengths;
+    private int head;
+    private int size;
+    private long dropped;
+
+    private final Buffer buffer = new Buffer();
+    private final DataOutputStream bufferOutput = new DataOutputStream(buffer);
+
+    /**
+     * Creates a new, empty journal.
+     * @param serializer The serializer used to store arguments
+     * @param capacity The maximum number of entries kept
+     * @param clock The source of timestamps, in nanoseconds
+     */
+    public EventJournal(@NotNull EventSerializer<T> serializer, int capacity, @NotNull LongSupplier clock) {
+        Validate.isTrue(capacity > 0, "capacity must be positive");
+
+        this.serializer = Objects.requireNonNull(serializer, "serializer cannot be null");
+        this.clock = Objects.requireNonNull(clock, "clock cannot be null");
+        this.timestamps = new long[capacity];
+        this.senderClasses = new String[capacity];
+        this.payloads = new byte[capacity][];
+        this.lengths = new int[capacity];
+    }
+
+    /**
+     * Creates a new, empty journal using {@link System#nanoTime()} for timestamps.
+     * @param serializer The serializer used to store arguments
+     * @param capacity The maximum number of entries kept
+     */
+    public EventJournal(@NotNull EventSerializer<T> serializer, int capacity) {
+        this(serializer, capacity, System::nanoTime);
+    }
+
+    /**
+     * Records an invocation, timestamped with the current time. If the serializer fails, nothing is recorded and the
+     * failure is counted (see {@link EventJournal#dropped()}).
+     * @param sender The sender of the invocation
+     * @param args The arguments of the invocation
+     * @throws UncheckedIOException If the serializer fails to write the arguments
+     */
+    public void record(Object sender, T args) {
+        buffer.reset();
+        try {
+            serializer.write(bufferOutput, args);
+        }
+        catch (IOException exception) {
+            dropped++;
+            throw new UncheckedIOException(exception);
+        }
+        catch (RuntimeException exception) {
+            dropped++;
+            throw exception;
+        }
+
+        //Class caches its name, so entries from the same sender class share one string
+        append(clock.getAsLong(), sender == null ? null : sender.getClass().getName(), buffer.array(), buffer.size());
+    }
+
+    private void append(long nanos, String senderClass, byte[] payload, int length) {
+        int index = (head + size) % timestamps.length;
+        timestamps[index] = nanos;
+        senderClasses[index] = senderClass;
+
+        byte[] slot = payloads[index];
+        if(slot == null || slot.length < length) {
+            payloads[index] = slot = new byte[length];
+        }
+
+        System.arraycopy(payload, 0, slot, 0, length);
+        lengths[index] = length;
+
+        if(size < timestamps.length) {
+            size++;
+        }
+        else {
+            head = (head + 1) % timestamps.length;
+        }
+    }
+
+    /**
+     * @return The number of entries in this journal
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of invocations that could not be recorded because the serializer failed
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Removes all entries from this journal. Storage for the entries is kept, to be reused by subsequent ones.
+     */
+    public void clear() {
+        Arrays.fill(senderClasses, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Deserializes every entry in this journal, oldest first.
+     * @return The entries
+     * @throws UncheckedIOException If the serializer fails to read an entry
+     */
+    public @NotNull List<Entry<T>> entries() {
+        List<Entry<T>> entries = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            int index = (head + i) % timestamps.length;
+
+            try {
+                T args = serializer.read(new DataInputStream(new ByteArrayInputStream(payloads[index], 0,
+                        lengths[index])));
+                entries.add(new Entry<>(timestamps[index], senderClasses[index], args));
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Invokes the target event with every entry in this journal, oldest first, on the calling thread. Entries are
+     * deserialized before the first invocation, so deserialization does not distort the timing of the replay. The
+     * sender of each invocation is this journal.
+     * @param target The event to invoke
+     * @param speed The playback speed relative to the recording; 1 reproduces the original intervals between
+     *              entries, 2 halves them, and 0 replays every entry as fast as possible
+     * @return The time taken to replay every entry, in nanoseconds
+     * @throws UncheckedIOException If the serializer fails to read an entry
+     */
+    public long replay(@NotNull Event<T> target, double speed) {
+        Objects.requireNonNull(target, "target cannot be null");
+        Validate.isTrue(speed >= 0, "speed cannot be negative");
+
+        List<Entry<T>> entries = entries();
+        if(entries.isEmpty()) {
+            return 0;
+        }
+
+        long firstRecorded = entries.get(0).nanos();
+        long start = System.nanoTime();
+        for(Entry<T> entry : entries) {
+            if(speed > 0) {
+                long due = start + (long)((entry.nanos() - firstRecorded) / speed);
+
+                long remaining;
+                while((remaining = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(remaining);
+                }
+            }
+
+            target.invoke(this, entry.args());
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Writes every entry in this journal to the given stream. The stream is not closed.
+     * @param stream The stream to write to
+     * @throws IOException If an I/O error occurs
+     */
+    public void writeTo(@NotNull OutputStream stream) throws IOException {
+        Objects.requireNonNull(stream, "stream cannot be null");
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+
+        //sender classes are written once, and referenced by index from each entry
+        Map<String, Integer> classIndices = new LinkedHashMap<>();
+        for(int i = 0; i < size; i++) {
+            String senderClass = senderClasses[(head + i) % timestamps.length];
+            if(senderClass != null) {
+                classIndices.putIfAbsent(senderClass, classIndices.size());
+            }
+        }
+
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(classIndices.size());
+        for(String senderClass : classIndices.keySet()) {
+            output.writeUTF(senderClass);
+        }
+
+        output.writeInt(size);
+        for(int i = 0; i < size; i++) {
+            int index = (head + i) % timestamps.length;
+            String senderClass = senderClasses[index];
+
+            output.writeLong(timestamps[index]);
+            output.writeInt(senderClass == null ? -1 : classIndices.get(senderClass));
+            output.writeInt(lengths[index]);
+            output.write(payloads[index], 0, lengths[index]);
+        }
+
+        output.flush();
+    }
+
+    /**
+     * Reads a journal previously written by {@link EventJournal#writeTo(OutputStream)}. The stream is not closed.
+     * @param stream The stream to read from
+     * @param serializer The serializer used to read arguments; must be compatible with the one used to record them
+     * @param capacity The capacity of the returned journal. If the stream contains more entries, only the most recent
+     *                 ones are kept
+     * @param <T> The type of argument recorded
+     * @return The journal
+     * @throws IOException If an I/O error occurs, or the stream does not contain a valid journal
+     */
+    public static <T> @NotNull EventJournal<T> readFrom(@NotNull InputStream stream,
+                                                        @NotNull EventSerializer<T> serializer, int capacity)
+            throws IOException {
+        Objects.requireNonNull(stream, "stream cannot be null");
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+
+        if(input.readInt() != MAGIC) {
+            throw new IOException("stream does not contain an event journal");
+        }
+
+        int version = input.readInt();
+        if(version != VERSION) {
+            throw new IOException("unsupported event journal version " + version);
+        }
+
+        //counts and lengths are checked before use; arrays grow with the data actually read, so a corrupt count
+        //fails with an EOFException instead of attempting a huge allocation
+        int classCount = readCount(input, "sender class count");
+        List<String> classes = new ArrayList<>(Math.min(classCount, 16));
+        for(int i = 0; i < classCount; i++) {
+            classes.add(input.readUTF().intern());
+        }
+
+        EventJournal<T> journal = new EventJournal<>(serializer, capacity);
+        int count = readCount(input, "entry count");
+        for(int i = 0; i < count; i++) {
+            long nanos = input.readLong();
+            int classIndex = input.readInt();
+            if(classIndex < -1 || classIndex >= classes.size()) {
+                throw new IOException("invalid sender class index " + classIndex);
+            }
+
+            int length = readCount(input, "payload length");
+            byte[] payload = input.readNBytes(length);
+            if(payload.length != length) {
+                throw new EOFException("payload truncated");
+            }
+
+            journal.append(nanos, classIndex == -1 ? null : classes.get(classIndex), payload, length);
+        }
+
+        return journal;
+    }
+
+    private static int readCount(DataInputStream input, String name) throws IOException {
+        int count = input.readInt();
+        if(count < 0) {
+            throw new IOException("invalid " + name + " " + count);
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.zap.commons.event;
+
+import org.apache.commons.lang.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Builds a pipeline of filter, map and link stages that is compiled into a single {@link EventHandler}. This is an
+ * alternative to composing {@link Event#filter(Predicate)}, {@link Event#mapTo(Event, Function)} and
+ * {@link Event#linkTo(Event)}, each of which adds another wrapper whose invoke method calls the next. A compiled
+ * pipeline instead runs every stage from one flat array in a single loop.</p>
+ *
+ * <p>Stages run in the order they are added. A filter stops the pipeline if its predicate fails. A map replaces the
+ * current value, and is skipped (stopping the pipeline) if none of the targets after it have any handlers, so no
+ * mapped object is created for an event nobody is listening to. Only targets that are a {@link SimpleEvent} or a
+ * {@link ConcurrentEvent} can be known to have no handlers; any other target, such as an event returned by
+ * {@link Event#linkTo(Event)} that passes values on to another event, always counts as listening. A link invokes its target with the current value,
+ * and the pipeline continues afterwards. Predicates and mapping functions should therefore be free of side
+ * effects.</p>
+ *
+ * <p>Example:</p>
+ * <pre>{@code
+ * EventPipeline.<PlayerMoveEvent>start()
+ *         .filter(event -> event.getPlayer().getWorld() == arenaWorld)
+ *         .map(event -> new ArenaMoveArgs(arena, event))
+ *         .to(arenaMoveEvent)
+ *         .attachTo(playerMoveEvent);
+ * }</pre>
+ *
+ * <p>Builders are mutable and not thread safe. Each method returns the same builder, typed according to the value the
+ * next stage receives.</p>
+ * @param <S> The type of argument the pipeline receives
+ * @param <T> The type of value the next stage receives
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class EventPipeline<S, T> {
+    private static final int FILTER = 0;
+    private static final int MAP = 1;
+    private static final int LINK = 2;
+
+    private static final class FusedHandler implements EventHandler {
+        private final int[] kinds;
+        private final Object[] operands;
+        private final boolean[] countable;
+
+        private FusedHandler(int[] kinds, Object[] operands) {
+            this.kinds = kinds;
+            this.operands = operands;
+            this.countable = new boolean[kinds.length];
+
+            //wrappers report the handler count of the event they wrap, not whether invoking them reaches any handler
+            for(int i = 0; i < kinds.length; i++) {
+                countable[i] = kinds[i] == LINK &&
+                        (operands[i] instanceof SimpleEvent || operands[i] instanceof ConcurrentEvent);
+            }
+        }
+
+        @Override
+        public void invoke(Object sender, Object args) {
+            Object value = args;
+            for(int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case FILTER -> {
+                        if(!((Predicate)operands[i]).test(value)) {
+                            return;
+                        }
+                    }
+                    case MAP -> {
+                        if(!hasDownstreamHandlers(i)) {
+                            return;
+                        }
+
+                        value = ((Function)operands[i]).apply(value);
+                    }
+                    default -> ((Event)operands[i]).invoke(sender, value);
+                }
+            }
+        }
+
+        private boolean hasDownstreamHandlers(int stage) {
+            for(int i = stage + 1; i < kinds.length; i++) {
+                if(kinds[i] == LINK && (!countable[i] || ((Event)operands[i]).handlerCount() > 0)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private final List<Integer> kinds = new ArrayList<>();
+    private final List<Object> operands = new ArrayList<>();
+
+    private EventPipeline() {}
+
+    /**
+     * Starts building a new pipeline.
+     * @param <T> The type of argument the pipeline receives
+     * @return An empty pipeline
+     */
+    public static <T> @NotNull EventPipeline<T, T> start() {
+        return new EventPipeline<>();
+    }
+
+    private void addStage(int kind, Object operand) {
+        kinds.add(kind);
+        operands.add(operand);
+    }
+
+    /**
+     * Adds a filter stage. Values not matching the predicate stop the pipeline.
+     * @param predicate The predicate to test values against
+     * @return This builder
+     */
+    public @NotNull EventPipeline<S, T> filter(@NotNull Predicate<? super T> predicate) {
+        addStage(FILTER, Objects.requireNonNull(predicate, "predicate cannot be null"));
+        return this;
+    }
+
+    /**
+     * Adds a map stage, which converts values for the following stages.
+     * @param mapper The mapping function
+     * @param <V> The type values are mapped to
+     * @return This builder
+     */
+    public <V> @NotNull EventPipeline<S, V> map(@NotNull Function<? super T, ? extends V> mapper) {
+        addStage(MAP, Objects.requireNonNull(mapper, "mapper cannot be null"));
+        return (EventPipeline<S, V>)this;
+    }
+
+    /**
+     * Adds a link stage, which invokes the target event with the current value.
+     * @param target The event to invoke
+     * @return This builder
+     */
+    public @NotNull EventPipeline<S, T> to(@NotNull Event<T> target) {
+        addStage(LINK, Objects.requireNonNull(target, "target cannot be null"));
+        return this;
+    }
+
+    /**
+     * Compiles this pipeline into a handler. The builder may continue to be used afterwards without affecting the
+     * returned handler.
+     * @return A handler running every stage of this pipeline
+     */
+    public @NotNull EventHandler<S> compile() {
+        Validate.isTrue(!kinds.isEmpty() && kinds.get(kinds.size() - 1) == LINK,
+                "pipeline must end with a link stage");
+
+        int[] kindArray = new int[kinds.size()];
+        for(int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = kinds.get(i);
+        }
+
+        return new FusedHandler(kindArray, operands.toArray());
+    }
+
+    /**
+     * Compiles this pipeline and registers it as a handler of the given event.
+     * @param source The event whose invocations should run the pipeline
+     * @return The registered handler, which can be passed to {@link Event#removeHandler(EventHandler)} to detach the
+     * pipeline
+     */
+    public @NotNull EventHandler<S> attachTo(@NotNull Event<S> source) {
+        Objects.requireNonNull(source, "source cannot be null");
+
+        EventHandler<S> handler = compile();
+        source.addHandler(handler);
+        return handler;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts event arguments to and from a compact binary form, so they can be recorded by an {@link EventJournal}.
+ * Serializers only need to capture the parts of the arguments that handlers depend on.
+ * @param <T> The type of argument being serialized
+ */
+public interface EventSerializer<T> {
+    /**
+     * Writes the given arguments.
+     * @param output The output to write to
+     * @param args The arguments to write
+     * @throws IOException If an I/O error occurs
+     */
+    void write(@NotNull DataOutput output, T args) throws IOException;
+
+    /**
+     * Reads arguments previously written by {@link EventSerializer#write(DataOutput, Object)}.
+     * @param input The input to read from
+     * @return The arguments that were read
+     * @throws IOException If an I/O error occurs
+     */
+    T read(@NotNull DataInput input) throws IOException;
+}
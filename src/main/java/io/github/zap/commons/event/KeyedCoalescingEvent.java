@@ -0,0 +1,74 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Event that keeps only the most recently submitted argument for each key, and passes each of them to its handlers
+ * once per tick. For example, keying health updates by player means handlers see each player's latest health once
+ * per tick, no matter how many times it changed. Keys are dispatched in the order they were first submitted since the
+ * previous flush. The sender passed to handlers is this event. An exception escaping the dispatch of one key does not
+ * prevent the remaining keys from being dispatched; once all have been, the first such exception is rethrown with any
+ * others suppressed.
+ *
+ * Calling {@link Event#invoke(Object, Object)} directly dispatches to handlers immediately, bypassing the buffer. See
+ * {@link Event#coalescePerTick(TickScheduler, Function)} for the usual way of creating an instance.
+ * @param <T> The type of argument submitted to this event
+ * @param <K> The type of key arguments are coalesced by
+ */
+public class KeyedCoalescingEvent<T, K> extends TickCoalescingEvent<T, T> {
+    private final Function<? super T, ? extends K> keyMapper;
+
+    private Map<K, T> pending = new LinkedHashMap<>();
+    private Map<K, T> flushing = new LinkedHashMap<>();
+
+    /**
+     * Creates a new KeyedCoalescingEvent.
+     * @param source The event to collect arguments from while this event has handlers, or null to only collect
+     *               arguments passed to {@link KeyedCoalescingEvent#submit(Object, Object)}
+     * @param scheduler The scheduler used to run the flush during the next tick
+     * @param keyMapper Function extracting the key that arguments are coalesced by
+     */
+    public KeyedCoalescingEvent(@Nullable Event<T> source, @NotNull TickScheduler scheduler,
+                                @NotNull Function<? super T, ? extends K> keyMapper) {
+        super(source, scheduler);
+        this.keyMapper = Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+    }
+
+    @Override
+    void buffer(T args) {
+        pending.put(keyMapper.apply(args), args);
+    }
+
+    @Override
+    void flush() {
+        Map<K, T> batch = pending;
+        pending = flushing;
+        flushing = batch;
+
+        RuntimeException first = null;
+        for(T args : batch.values()) {
+            try {
+                invoke(this, args);
+            }
+            catch (RuntimeException exception) {
+                if(first == null) {
+                    first = exception;
+                }
+                else {
+                    first.addSuppressed(exception);
+                }
+            }
+        }
+
+        batch.clear();
+        if(first != null) {
+            throw first;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.zap.commons.event;
+
+import io.github.zap.commons.vectors.Bounds;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Cheap pre-filter for Bukkit events that happen at a location, intended to be passed to
+ * {@link Event#bukkitProxy(org.bukkit.plugin.Plugin, Class, org.bukkit.event.EventPriority, boolean, Predicate)} so
+ * that events outside the worlds or regions of interest are discarded before any handler runs. For example, a
+ * PlayerMoveEvent proxy for a single arena can skip every movement happening elsewhere on the server.</p>
+ *
+ * <p>Worlds are compared by UUID. Regions are tested at chunk granularity: a location passes if the chunk containing
+ * it overlaps any of the regions, horizontally. Events that pass may therefore still be slightly outside a region, so
+ * handlers needing exact bounds should check them again. The tests only use the location's world and block
+ * coordinates, so the cost is a few comparisons per region.</p>
+ *
+ * <p>Instances are immutable; {@link LocationFilter#inWorlds(UUID...)} and {@link LocationFilter#inRegions(Bounds...)}
+ * return new filters.</p>
+ * @param <T> The type of event being filtered
+ */
+public final class LocationFilter<T> implements Predicate<T> {
+    private final Function<? super T, ? extends Location> locator;
+    private final UUID[] worlds;
+
+    //minChunkX, minChunkZ, maxChunkX, maxChunkZ for each region
+    private final int[] chunkRegions;
+
+    private LocationFilter(Function<? super T, ? extends Location> locator, UUID[] worlds, int[] chunkRegions) {
+        this.locator = locator;
+        this.worlds = worlds;
+        this.chunkRegions = chunkRegions;
+    }
+
+    /**
+     * Creates a filter which accepts every event with a location. Use {@link LocationFilter#inWorlds(UUID...)} and
+     * {@link LocationFilter#inRegions(Bounds...)} to restrict it.
+     * @param locator Function returning the location of an event, such as {@code PlayerMoveEvent::getTo}. Functions
+     *                that do not create a new Location on each call are preferable
+     * @param <T> The type of event being filtered
+     * @return The new filter
+     */
+    public static <T> @NotNull LocationFilter<T> of(@NotNull Function<? super T, ? extends Location> locator) {
+        return new LocationFilter<>(Objects.requireNonNull(locator, "locator cannot be null"), null, null);
+    }
+
+    /**
+     * Restricts this filter to locations in the given worlds.
+     * @param worlds The UUIDs of the worlds
+     * @return The new filter
+     */
+    public @NotNull LocationFilter<T> inWorlds(@NotNull UUID... worlds) {
+        Objects.requireNonNull(worlds, "worlds cannot be null");
+        for(UUID world : worlds) {
+            Objects.requireNonNull(world, "world cannot be null");
+        }
+
+        return new LocationFilter<>(locator, worlds.clone(), chunkRegions);
+    }
+
+    /**
+     * Restricts this filter to locations in chunks overlapping any of the given regions. Only the horizontal extent
+     * of each region is considered.
+     * @param regions The regions, in block coordinates
+     * @return The new filter
+     */
+    public @NotNull LocationFilter<T> inRegions(@NotNull Bounds... regions) {
+        Objects.requireNonNull(regions, "regions cannot be null");
+
+        int[] chunkRegions = new int[regions.length * 4];
+        for(int i = 0; i < regions.length; i++) {
+            Bounds region = Objects.requireNonNull(regions[i], "region cannot be null");
+            chunkRegions[i * 4] = (int)Math.floor(region.minX()) >> 4;
+            chunkRegions[i * 4 + 1] = (int)Math.floor(region.minZ()) >> 4;
+            chunkRegions[i * 4 + 2] = (int)Math.floor(region.maxX()) >> 4;
+            chunkRegions[i * 4 + 3] = (int)Math.floor(region.maxZ()) >> 4;
+        }
+
+        return new LocationFilter<>(locator, worlds, chunkRegions);
+    }
+
+    @Override
+    public boolean test(T event) {
+        Location location = locator.apply(event);
+        if(location == null) {
+            return false;
+        }
+
+        if(worlds != null) {
+            World world = location.getWorld();
+            if(world == null || !contains(worlds, world.getUID())) {
+                return false;
+            }
+        }
+
+        if(chunkRegions != null) {
+            int chunkX = location.getBlockX() >> 4;
+            int chunkZ = location.getBlockZ() >> 4;
+
+            for(int i = 0; i < chunkRegions.length; i += 4) {
+                if(chunkX >= chunkRegions[i] && chunkZ >= chunkRegions[i + 1] && chunkX <= chunkRegions[i + 2] &&
+                        chunkZ <= chunkRegions[i + 3]) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private static boolean contains(UUID[] worlds, UUID world) {
+        for(UUID candidate : worlds) {
+            if(candidate.equals(world)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "LocationFilter{worlds=" + Arrays.toString(worlds) + ", chunkRegions=" + Arrays.toString(chunkRegions) +
+                "}";
+    }
+}
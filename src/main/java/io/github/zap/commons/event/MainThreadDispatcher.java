@@ -0,0 +1,156 @@
+package io.github.zap.commons.event;
+
+import io.github.zap.commons.Disposable;
+import io.github.zap.commons.ObjectDisposedException;
+import org.apache.commons.lang.Validate;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Hands event invocations from any thread over to the main thread. Invocations are added to a lock-free queue and
+ * run in order by a single scheduled task, which drains as many as it can within a time budget each tick and carries
+ * the rest over to the next tick. This replaces scheduling a separate Bukkit task for every invocation, and bounds how
+ * much of a tick a burst of invocations from asynchronous workers can take.</p>
+ *
+ * <p>The drain task is only scheduled while there are queued invocations, so an idle dispatcher costs nothing. At
+ * least one invocation is run per tick regardless of the budget, so the queue always makes progress.</p>
+ *
+ * <p>Exceptions that escape an event's own exception handling are passed to this dispatcher's
+ * {@link ExceptionHandler}. If that handler rethrows, or an invocation throws an {@link Error}, the exception
+ * propagates out of the current drain task, and the remaining invocations run from the next tick.</p>
+ */
+public class MainThreadDispatcher implements Disposable {
+    private record Invocation<T>(Event<T> event, Object sender, T args) {
+        private void run() {
+            event.invoke(sender, args);
+        }
+    }
+
+    private final TickScheduler scheduler;
+    private final long budgetNanos;
+    private final ExceptionHandler exceptionHandler;
+
+    private final Queue<Invocation<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean disposed;
+
+    /**
+     * Creates a new MainThreadDispatcher.
+     * @param scheduler The scheduler used to run the drain task on the main thread
+     * @param budgetNanos The maximum time to spend running invocations per tick, in nanoseconds
+     * @param exceptionHandler The handler for exceptions thrown by invoked events
+     */
+    public MainThreadDispatcher(@NotNull TickScheduler scheduler, long budgetNanos,
+                                @NotNull ExceptionHandler exceptionHandler) {
+        Validate.isTrue(budgetNanos > 0, "budgetNanos must be positive");
+
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+        this.budgetNanos = budgetNanos;
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler, "exceptionHandler cannot be null");
+    }
+
+    /**
+     * Creates a new MainThreadDispatcher using the Bukkit scheduler, which logs exceptions to the plugin's logger.
+     * @param plugin The plugin to schedule tasks under
+     * @param budgetNanos The maximum time to spend running invocations per tick, in nanoseconds
+     */
+    public MainThreadDispatcher(@NotNull Plugin plugin, long budgetNanos) {
+        this(TickScheduler.bukkit(plugin), budgetNanos, ExceptionHandlers.logHandler(plugin.getLogger()));
+    }
+
+    /**
+     * Queues an invocation of the given event, to be run on the main thread. May be called from any thread.
+     * Invocations queued by the same thread run in the order they were queued.
+     * @param event The event to invoke
+     * @param sender The sender to invoke the event with
+     * @param args The arguments to invoke the event with
+     * @param <T> The type of argument the event receives
+     */
+    public <T> void dispatch(@NotNull Event<T> event, Object sender, T args) {
+        Objects.requireNonNull(event, "event cannot be null");
+        if(disposed) {
+            throw new ObjectDisposedException();
+        }
+
+        queue.add(new Invocation<>(event, sender, args));
+        scheduleDrain();
+    }
+
+    /**
+     * Creates a wrapper around the given event, whose invocations are handed over to the main thread by this
+     * dispatcher. The returned event will otherwise have the same implementation characteristics as the given one.
+     * @param event The event to wrap
+     * @param <T> The type of argument the event receives
+     * @return A wrapper for the event, which may be invoked from any thread
+     */
+    public <T> @NotNull Event<T> mainThread(@NotNull Event<T> event) {
+        Objects.requireNonNull(event, "event cannot be null");
+
+        return new WrappedEvent<>(event) {
+            @Override
+            public void invoke(Object sender, T args) {
+                dispatch(event, sender, args);
+            }
+        };
+    }
+
+    /**
+     * @return The number of invocations waiting to run
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void scheduleDrain() {
+        if(scheduled.compareAndSet(false, true)) {
+            scheduler.runLater(this::drain, 1);
+        }
+    }
+
+    private void drain() {
+        if(disposed) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        try {
+            Invocation<?> invocation;
+            do {
+                if((invocation = queue.poll()) == null) {
+                    break;
+                }
+
+                try {
+                    invocation.run();
+                }
+                catch (RuntimeException exception) {
+                    exceptionHandler.handle(exception);
+                }
+            }
+            while(System.nanoTime() - deadline < 0);
+        }
+        finally { //the exception handler may rethrow, and errors are not caught; the queue must not stall either way
+            scheduled.set(false);
+
+            //an invocation queued after the last poll may have seen the task as still scheduled
+            if(!disposed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * Stops running invocations. Invocations still queued are discarded, and queuing new ones throws
+     * {@link ObjectDisposedException}.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        queue.clear();
+    }
+}
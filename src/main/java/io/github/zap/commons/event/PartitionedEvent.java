@@ -0,0 +1,108 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>Routes invocations of a source event to sub-events ("partitions") according to a key extracted from the
+ * arguments. This replaces registering many filtered events on the same source (see {@link Event#filter}) where each
+ * filter only accepts a single key, such as a player's UUID or an arena ID: rather than testing every filter, each
+ * invocation extracts the key once and looks up the partition in a hash map, so the cost of dispatch does not depend
+ * on the number of partitions.</p>
+ *
+ * <p>Partitions are created on demand by {@link PartitionedEvent#partition(Object)}, but are only stored while they
+ * have handlers: a partition is added when its first handler is added, and dropped as soon as its last handler is
+ * removed, so looking up keys belonging to short-lived objects does not accumulate entries. If a partition that was
+ * dropped gains handlers again after another partition has taken its key, its handlers are called through the newer
+ * partition. This event only listens to the source event while at least one partition has handlers.</p>
+ *
+ * <p>Like {@link SimpleEvent}, this class is not thread safe.</p>
+ * @param <T> The type of argument handlers will receive
+ * @param <K> The type of key used to select a partition
+ */
+public class PartitionedEvent<T, K> {
+    private final class Partition extends SimpleEvent<T> {
+        private final K key;
+        private final EventHandler<T> forwarder = this::invoke;
+
+        //the partition stored under this partition's key, if it is not this one
+        private Partition host;
+
+        private Partition(K key) {
+            this.key = key;
+        }
+
+        @Override
+        protected void onHandlerCountChange(int oldSize, int newSize) {
+            super.onHandlerCountChange(oldSize, newSize);
+
+            if(oldSize > 0 && newSize == 0) {
+                if(host != null) {
+                    Partition oldHost = host;
+                    host = null;
+                    oldHost.removeHandler(forwarder);
+                }
+                else if(partitions.remove(key, this) && partitions.isEmpty()) {
+                    source.removeHandler(sourceHandler);
+                }
+            }
+            else if(oldSize == 0 && newSize > 0) {
+                Partition current = partitions.putIfAbsent(key, this);
+                if(current == null) {
+                    if(partitions.size() == 1) {
+                        source.addHandler(sourceHandler);
+                    }
+                }
+                else if(current != this) {
+                    host = current;
+                    current.addHandler(forwarder);
+                }
+            }
+        }
+    }
+
+    private final Event<T> source;
+    private final Function<? super T, ? extends K> keyMapper;
+    private final Map<K, Partition> partitions = new HashMap<>();
+    private final EventHandler<T> sourceHandler = this::dispatch;
+
+    /**
+     * Creates a new PartitionedEvent. See {@link Event#partitionBy(Function)}.
+     * @param source The event to route invocations from
+     * @param keyMapper Function extracting the key of the partition that should receive the arguments
+     */
+    public PartitionedEvent(@NotNull Event<T> source, @NotNull Function<? super T, ? extends K> keyMapper) {
+        this.source = Objects.requireNonNull(source, "source cannot be null");
+        this.keyMapper = Objects.requireNonNull(keyMapper, "keyMapper cannot be null");
+    }
+
+    private void dispatch(Object sender, T args) {
+        Partition partition = partitions.get(keyMapper.apply(args));
+        if(partition != null) {
+            partition.invoke(sender, args);
+        }
+    }
+
+    /**
+     * Gets the partition for the given key, creating it if necessary. Its handlers are called whenever the source event
+     * is invoked with arguments mapping to an equal key. A newly created partition is not stored until a handler is
+     * added to it.
+     * @param key The key
+     * @return The partition for the key
+     */
+    public @NotNull Event<T> partition(K key) {
+        Partition partition = partitions.get(key);
+        return partition != null ? partition : new Partition(key);
+    }
+
+    /**
+     * @return The number of partitions that currently have handlers
+     */
+    public int partitionCount() {
+        return partitions.size();
+    }
+}
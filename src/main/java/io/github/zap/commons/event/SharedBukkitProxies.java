@@ -0,0 +1,72 @@
+package io.github.zap.commons.event;
+
+import org.bukkit.event.EventPriority;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of proxy events shared between all callers requesting the same plugin, Bukkit event class, priority and
+ * cancellation behavior. See {@link Event#sharedBukkitProxy(Plugin, Class, EventPriority, boolean)}.
+ *
+ * Proxies are held weakly. A proxy with handlers is registered with Bukkit, which keeps it alive; a proxy without
+ * handlers stays in the registry for as long as some caller still references it, so a caller adding handlers to a
+ * proxy it obtained earlier never ends up with a second proxy registered alongside a newer one.
+ */
+final class SharedBukkitProxies {
+    private record Key(Plugin plugin, Class<?> bukkitEventClass, EventPriority priority, boolean ignoreCancelled) {}
+
+    private static final class ProxyReference extends WeakReference<BukkitProxy<?>> {
+        private final Key key;
+
+        private ProxyReference(Key key, BukkitProxy<?> proxy) {
+            super(proxy, QUEUE);
+            this.key = key;
+        }
+    }
+
+    private static final Map<Key, ProxyReference> PROXIES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<BukkitProxy<?>> QUEUE = new ReferenceQueue<>();
+
+    private SharedBukkitProxies() {}
+
+    /**
+     * Removes the entries of collected proxies, so their keys no longer keep the plugin and event class reachable.
+     * Called on every lookup and whenever any Bukkit proxy registers with Bukkit.
+     */
+    static void expungeCollected() {
+        ProxyReference reference;
+        while((reference = (ProxyReference)QUEUE.poll()) != null) {
+            PROXIES.remove(reference.key, reference);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends org.bukkit.event.Event> @NotNull Event<T> get(@NotNull Plugin plugin,
+                                                                    @NotNull Class<T> bukkitEventClass,
+                                                                    @NotNull EventPriority priority,
+                                                                    boolean ignoreCancelled) {
+        expungeCollected();
+
+        Key key = new Key(plugin, bukkitEventClass, priority, ignoreCancelled);
+        while(true) {
+            ProxyReference reference = PROXIES.get(key);
+            BukkitProxy<?> proxy = reference == null ? null : reference.get();
+            if(proxy != null) {
+                return (Event<T>)proxy;
+            }
+
+            //retry if another caller replaced the collected proxy first, so only one new proxy is ever handed out
+            BukkitProxy<T> created = new BukkitProxy<>(plugin, bukkitEventClass, priority, ignoreCancelled);
+            ProxyReference createdReference = new ProxyReference(key, created);
+            if(reference == null ? PROXIES.putIfAbsent(key, createdReference) == null :
+                    PROXIES.replace(key, reference, createdReference)) {
+                return created;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.zap.commons.event;
 
 import org.apache.commons.lang.Validate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -25,42 +26,124 @@ import java.util.logging.Logger;
  * improper concurrent modifications are made. The user is responsible for ensuring thread safety by using synchronized
  * implementations when necessary.</p>
  *
- * <p>SimpleEvent calls handlers in the same order that they are registered (FIFO). Adding, removing, and clearing
+ * <p>SimpleEvent calls handlers in ascending order of priority (see {@link SimpleEvent#addHandler(EventHandler, int)}),
+ * and handlers of equal priority in the same order that they are registered (FIFO). Handlers added without a priority
+ * use {@link SimpleEvent#DEFAULT_PRIORITY}, so an event whose handlers never specify one is purely FIFO. The handler
+ * array is kept sorted as handlers are added, so invocation never needs to sort. Adding, removing, and clearing
  * handlers also respect this order.</p>
  *
- * <p>An attempt to recursively invoke this event will result in an unchecked {@link IllegalStateException}. Events are
- * called recursively when at least one handler calls {@link Event#invoke(Object, Object)} during its own execution.</p>
+ * <p>SimpleEvent can optionally record how long each of its handlers take to run, see {@link HandlerMetrics}.</p>
+ *
+ * <p>By default, an attempt to recursively invoke this event will result in an unchecked {@link IllegalStateException}.
+ * Events are called recursively when at least one handler calls {@link Event#invoke(Object, Object)} during its own
+ * execution. Recursive invocation can be permitted by setting a different {@link RecursionPolicy} (see
+ * {@link SimpleEvent#setRecursionPolicy(RecursionPolicy)}).</p>
  * @param <T> The type of argument handlers will receive
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class SimpleEvent<T> implements Event<T> {
-    private static final int DEFAULT_INITIAL_CAPACITY = 8;
+    /**
+     * The priority assigned to handlers registered through {@link SimpleEvent#addHandler(EventHandler)}.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    /**
+     * Determines what happens when a SimpleEvent is invoked by one of its own handlers.
+     */
+    public static final class RecursionPolicy {
+        /**
+         * Recursive invocation throws an {@link IllegalStateException}. This is the default policy.
+         */
+        public static final RecursionPolicy DISALLOW = new RecursionPolicy(0, false);
+
+        /**
+         * Recursive invocations are queued, and run one after another once the outermost invocation has finished
+         * (including applying any handler modifications made during it). Invocations queued while draining the queue
+         * are added to the end of it, so the call stack never grows regardless of how many times handlers re-invoke
+         * the event. If an invocation throws, any invocations still queued are discarded.
+         */
+        public static final RecursionPolicy QUEUE = new RecursionPolicy(0, true);
+
+        private final int maxDepth;
+        private final boolean queue;
+
+        private RecursionPolicy(int maxDepth, boolean queue) {
+            this.maxDepth = maxDepth;
+            this.queue = queue;
+        }
+
+        /**
+         * Creates a policy that calls handlers immediately when the event is invoked recursively, up to the given
+         * number of nested levels. Deeper invocations throw an {@link IllegalStateException}. Handler modifications
+         * are deferred until the outermost invocation finishes, so every nested invocation calls the same handlers as
+         * the outermost one.
+         * @param maxDepth The maximum number of invocations that may be nested inside the outermost one
+         * @return The new policy
+         */
+        public static @NotNull RecursionPolicy nested(int maxDepth) {
+            Validate.isTrue(maxDepth > 0, "maxDepth must be positive");
+            return new RecursionPolicy(maxDepth, false);
+        }
+    }
+
+    private record QueuedInvocation<T>(Object sender, T args) {}
 
     private class HandlerModification {
         private final boolean isAdd;
         private final boolean isClear;
         private final EventHandler<T> handler;
+        private final int priority;
 
-        private HandlerModification(boolean isAdd, boolean isClear, EventHandler<T> handler) {
+        private HandlerModification(boolean isAdd, boolean isClear, EventHandler<T> handler, int priority) {
             this.isAdd = isAdd;
             this.isClear = isClear;
             this.handler = handler;
+            this.priority = priority;
         }
     }
 
     private EventHandler[] bakedHandlers;
+    private int[] priorities;
 
-    private final ExceptionHandler exceptionHandler;
+    final ExceptionHandler exceptionHandler;
+    final HandlerMetrics.Recorder recorder;
     private final List<HandlerModification> modifications = new ArrayList<>();
 
     private int size = 0;
     private boolean invoking = false;
 
-    public SimpleEvent(@NotNull ExceptionHandler exceptionHandler, int initialCapacity) {
+    private RecursionPolicy recursionPolicy = RecursionPolicy.DISALLOW;
+    private int depth = 0;
+    private ArrayDeque<QueuedInvocation<T>> queuedInvocations;
+    private boolean draining = false;
+
+    private SimpleEvent(@NotNull ExceptionHandler exceptionHandler, int initialCapacity,
+                        @Nullable HandlerMetrics.Recorder recorder) {
         Validate.isTrue(initialCapacity >= 0, "initialCapacity cannot be negative");
 
         this.exceptionHandler = Objects.requireNonNull(exceptionHandler, "exceptionHandler cannot be null");
         this.bakedHandlers = new EventHandler[initialCapacity];
+        this.priorities = new int[initialCapacity];
+        this.recorder = recorder;
+    }
+
+    /**
+     * Creates an instrumented SimpleEvent, which records statistics for each of its handlers in the given metrics.
+     * @param exceptionHandler The exception handler
+     * @param initialCapacity The initial capacity of the handler array
+     * @param metrics The metrics to record statistics in
+     * @param name The name identifying this event in the recorded statistics
+     */
+    public SimpleEvent(@NotNull ExceptionHandler exceptionHandler, int initialCapacity,
+                       @NotNull HandlerMetrics metrics, @NotNull String name) {
+        this(exceptionHandler, initialCapacity, Objects.requireNonNull(metrics, "metrics cannot be null")
+                .recorder(name));
+    }
+
+    public SimpleEvent(@NotNull ExceptionHandler exceptionHandler, int initialCapacity) {
+        this(exceptionHandler, initialCapacity, (HandlerMetrics.Recorder)null);
     }
 
     public SimpleEvent(@NotNull ExceptionHandler exceptionHandler) {
@@ -75,18 +158,37 @@ public class SimpleEvent<T> implements Event<T> {
         this(ExceptionHandlers.rethrow());
     }
 
-    private void addHandlerInternal(EventHandler<T> handler) {
+    private void addHandlerInternal(EventHandler<T> handler, int priority) {
         if(size >= bakedHandlers.length) {
             //scale by 3/2 each resize
-            bakedHandlers = Arrays.copyOf(bakedHandlers, ((bakedHandlers.length * 3) >> 1) + 1);
+            int newLength = ((bakedHandlers.length * 3) >> 1) + 1;
+            bakedHandlers = Arrays.copyOf(bakedHandlers, newLength);
+            priorities = Arrays.copyOf(priorities, newLength);
         }
 
-        bakedHandlers[size++] = handler;
+        //insert after every handler of lower or equal priority; appending is the common case
+        int index = size;
+        while(index > 0 && priorities[index - 1] > priority) {
+            index--;
+        }
+
+        if(index < size) {
+            System.arraycopy(bakedHandlers, index, bakedHandlers, index + 1, size - index);
+            System.arraycopy(priorities, index, priorities, index + 1, size - index);
+        }
+
+        bakedHandlers[index] = handler;
+        priorities[index] = priority;
+        size++;
     }
 
     private int removeHandlerInternal(EventHandler<T> handler) {
         for(int i = 0; i < size; i++) {
-            if(bakedHandlers[i] == handler) {
+            if(matches(bakedHandlers[i], handler)) {
+                if(recorder != null) {
+                    recorder.remove(bakedHandlers[i]);
+                }
+
                 bakedHandlers[i] = null;
                 return i;
             }
@@ -97,6 +199,10 @@ public class SimpleEvent<T> implements Event<T> {
 
     private boolean clearHandlersInternal() {
         if(size > 0) {
+            if(recorder != null) {
+                recorder.clear();
+            }
+
             Arrays.fill(bakedHandlers, null);
             size = 0;
             return true;
@@ -111,10 +217,18 @@ public class SimpleEvent<T> implements Event<T> {
         int newSize = size;
         for(int i = start; i < size; i++) {
             EventHandler handler = bakedHandlers[i];
+            if(handler instanceof WeakHandler weak && weak.isCleared()) {
+                if(recorder != null) {
+                    recorder.remove(handler);
+                }
+
+                bakedHandlers[i] = handler = null; //compact collected weak handlers while we're here
+            }
 
             if(hasPreviousNull) {
                 if(handler != null) {
                     bakedHandlers[previousNull] = handler;
+                    priorities[previousNull] = priorities[i];
                     bakedHandlers[i] = null;
                     previousNull++;
                 }
@@ -132,6 +246,7 @@ public class SimpleEvent<T> implements Event<T> {
         size = newSize;
         if(bakedHandlers.length - size > bakedHandlers.length >> 1) {
             bakedHandlers = Arrays.copyOf(bakedHandlers, size + 1);
+            priorities = Arrays.copyOf(priorities, size + 1);
         }
     }
 
@@ -148,7 +263,7 @@ public class SimpleEvent<T> implements Event<T> {
             for(HandlerModification modification : modifications) {
                 int thisIndex;
                 if(modification.isAdd) {
-                    addHandlerInternal(modification.handler);
+                    addHandlerInternal(modification.handler, modification.priority);
                 }
                 else if((thisIndex = removeHandlerInternal(modification.handler)) != -1 && firstRemovedIndex == -1) {
                     firstRemovedIndex = thisIndex;
@@ -167,7 +282,16 @@ public class SimpleEvent<T> implements Event<T> {
         }
     }
 
-    private void invokeInternal(Object sender, T args) {
+    /**
+     * Calls the first size handlers in the given array. Package-private so that specialized events in this package
+     * can change how handlers are called without duplicating the bookkeeping done by SimpleEvent.
+     */
+    void invokeInternal(Object sender, T args, EventHandler[] bakedHandlers, int size) {
+        if(recorder != null) {
+            invokeRecorded(sender, args, bakedHandlers, size);
+            return;
+        }
+
         RuntimeException first = null;
         for(int i = 0; i < size; i++) {
             EventHandler handler = bakedHandlers[i];
@@ -190,38 +314,161 @@ public class SimpleEvent<T> implements Event<T> {
         }
     }
 
+    private void invokeRecorded(Object sender, T args, EventHandler[] bakedHandlers, int size) {
+        RuntimeException first = null;
+        for(int i = 0; i < size; i++) {
+            try {
+                recorder.invoke(bakedHandlers[i], sender, args);
+            }
+            catch (RuntimeException exception) {
+                if(first == null) {
+                    first = exception;
+                }
+                else {
+                    first.addSuppressed(exception);
+                }
+            }
+        }
+
+        if(first != null) {
+            exceptionHandler.handle(first);
+        }
+    }
+
     @Override
     public void invoke(Object sender, T args) {
         if(invoking) {
-            throw new IllegalStateException("cannot recursively invoke an event");
+            invokeRecursive(sender, args);
+            return;
         }
 
         try {
             preInvoke();
             invoking = true;
-            invokeInternal(sender, args);
+            invokeInternal(sender, args, bakedHandlers, size);
+        }
+        catch (RuntimeException | Error exception) {
+            if(queuedInvocations != null && !draining) { //drop anything queued by the failed invocation
+                queuedInvocations.clear();
+            }
+
+            throw exception;
         }
         finally { //if exceptionHandler throws a runtime exception, make sure we keep internal state consistent
             invoking = false;
             postInvoke();
         }
+
+        if(queuedInvocations != null && !queuedInvocations.isEmpty()) {
+            drainQueue();
+        }
+    }
+
+    private void invokeRecursive(Object sender, T args) {
+        if(recursionPolicy.queue) {
+            queuedInvocations.add(new QueuedInvocation<>(sender, args));
+            return;
+        }
+
+        if(depth >= recursionPolicy.maxDepth) {
+            throw new IllegalStateException(recursionPolicy == RecursionPolicy.DISALLOW ?
+                    "cannot recursively invoke an event" : "maximum recursion depth exceeded");
+        }
+
+        //modifications are deferred until the outermost invocation ends, so the handler array can be shared
+        depth++;
+        try {
+            invokeInternal(sender, args, bakedHandlers, size);
+        }
+        finally {
+            depth--;
+        }
+    }
+
+    private void drainQueue() {
+        if(draining) { //the invocation that started draining will pick up anything queued since
+            return;
+        }
+
+        draining = true;
+        try {
+            QueuedInvocation<T> next;
+            while((next = queuedInvocations.poll()) != null) {
+                invoke(next.sender(), next.args());
+            }
+        }
+        finally {
+            draining = false;
+            queuedInvocations.clear();
+        }
+    }
+
+    /**
+     * Sets the policy applied when this event is invoked by one of its own handlers. The default is
+     * {@link RecursionPolicy#DISALLOW}.
+     * @param recursionPolicy The new policy
+     * @throws IllegalStateException If this event is being invoked
+     */
+    public void setRecursionPolicy(@NotNull RecursionPolicy recursionPolicy) {
+        Objects.requireNonNull(recursionPolicy, "recursionPolicy cannot be null");
+        if(invoking) {
+            throw new IllegalStateException("cannot change the recursion policy while invoking");
+        }
+
+        this.recursionPolicy = recursionPolicy;
+        if(recursionPolicy.queue && queuedInvocations == null) {
+            queuedInvocations = new ArrayDeque<>();
+        }
     }
 
     @Override
     public void addHandler(@NotNull EventHandler<T> handler) {
+        addHandler(handler, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Adds an event handler with the given priority. Handlers with a lower priority value are called before handlers
+     * with a higher one, similarly to Bukkit's {@link org.bukkit.event.EventPriority}; handlers with equal priority are
+     * called in the order they were added. As with {@link SimpleEvent#addHandler(EventHandler)}, a handler added while
+     * this event is being invoked will only be called during the next invocation.
+     * @param handler The handler to register
+     * @param priority The priority of the handler
+     */
+    public void addHandler(@NotNull EventHandler<T> handler, int priority) {
         if(!invoking) {
             int oldSize = size;
-            addHandlerInternal(handler);
+            addHandlerInternal(handler, priority);
 
             if(oldSize != size) {
                 onHandlerCountChange(oldSize, size);
             }
         }
         else {
-            modifications.add(new HandlerModification(true, false, handler));
+            modifications.add(new HandlerModification(true, false, handler, priority));
         }
     }
 
+    /**
+     * Adds a weakly referenced event handler with the default priority. See {@link Event#addWeakHandler(EventHandler)}.
+     * Collected handlers are removed once the event is next invoked, and any others found while doing so are removed
+     * along with them.
+     * @param handler The handler to register
+     */
+    @Override
+    public void addWeakHandler(@NotNull EventHandler<T> handler) {
+        addWeakHandler(handler, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Adds a weakly referenced event handler with the given priority. See {@link Event#addWeakHandler(EventHandler)}
+     * and {@link SimpleEvent#addHandler(EventHandler, int)}.
+     * @param handler The handler to register
+     * @param priority The priority of the handler
+     */
+    public void addWeakHandler(@NotNull EventHandler<T> handler, int priority) {
+        addHandler(new WeakHandler<>(this, handler), priority);
+    }
+
     @Override
     public void removeHandler(@NotNull EventHandler<T> handler) {
         if(!invoking) {
@@ -236,14 +483,14 @@ public class SimpleEvent<T> implements Event<T> {
             }
         }
         else {
-            modifications.add(new HandlerModification(false, false, handler));
+            modifications.add(new HandlerModification(false, false, handler, DEFAULT_PRIORITY));
         }
     }
 
     @Override
     public boolean hasHandler(@NotNull EventHandler<T> handler) {
         for(int i = 0; i < size; i++) {
-            if(bakedHandlers[i] == handler) {
+            if(matches(bakedHandlers[i], handler)) {
                 return true;
             }
         }
@@ -261,7 +508,7 @@ public class SimpleEvent<T> implements Event<T> {
         }
         else {
             modifications.clear(); //remove all prior modifications
-            modifications.add(new HandlerModification(false, true, null));
+            modifications.add(new HandlerModification(false, true, null, DEFAULT_PRIORITY));
         }
     }
 
@@ -270,6 +517,22 @@ public class SimpleEvent<T> implements Event<T> {
         return size;
     }
 
+    /**
+     * Determines if a stored handler is, or decorates, the given handler.
+     */
+    static boolean matches(EventHandler stored, EventHandler handler) {
+        while(stored != handler) {
+            if(stored instanceof WrappedHandler wrapped) {
+                stored = wrapped.handler();
+            }
+            else {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Called internally when modifications are made to the array of handlers. The default implementation does nothing;
      * this method is provided for the sole purpose of overriding by subclasses. For example, subclasses may need to
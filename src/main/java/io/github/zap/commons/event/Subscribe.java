@@ -0,0 +1,21 @@
+package io.github.zap.commons.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as an event handler, to be registered by {@link AnnotatedHandlers}. Annotated methods must be
+ * instance methods taking either the event arguments alone, or the sender (declared as {@link Object}) followed by the
+ * arguments. Return values are ignored.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Subscribe {
+    /**
+     * @return The priority of the handler; see {@link SimpleEvent#addHandler(EventHandler, int)}. Handlers of the same
+     * listener subscribed to an {@link EventBus} also subscribe in this order
+     */
+    int priority() default SimpleEvent.DEFAULT_PRIORITY;
+}
@@ -0,0 +1,55 @@
+package io.github.zap.commons.event;
+
+import org.apache.commons.lang.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Passes invocations on to the wrapped event at most once per period. See {@link Event#throttle(TickScheduler, long)}.
+ */
+class ThrottledEvent<T> extends WrappedEvent<T> {
+    private final TickScheduler scheduler;
+    private final long periodTicks;
+
+    private long periodEnd = Long.MIN_VALUE;
+    private boolean pending;
+    private Object pendingSender;
+    private T pendingArgs;
+
+    ThrottledEvent(@NotNull Event<T> wrapped, @NotNull TickScheduler scheduler, long periodTicks) {
+        super(wrapped);
+        Validate.isTrue(periodTicks > 0, "periodTicks must be positive");
+
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+        this.periodTicks = periodTicks;
+    }
+
+    @Override
+    public void invoke(Object sender, T args) {
+        long now = scheduler.currentTick();
+        if(!pending && now >= periodEnd) {
+            periodEnd = now + periodTicks;
+            super.invoke(sender, args);
+            return;
+        }
+
+        pendingSender = sender;
+        pendingArgs = args;
+        if(!pending) {
+            pending = true;
+            scheduler.runLater(this::flush, Math.max(1, periodEnd - now));
+        }
+    }
+
+    private void flush() {
+        Object sender = pendingSender;
+        T args = pendingArgs;
+        pending = false;
+        pendingSender = null;
+        pendingArgs = null;
+
+        periodEnd = scheduler.currentTick() + periodTicks;
+        super.invoke(sender, args);
+    }
+}
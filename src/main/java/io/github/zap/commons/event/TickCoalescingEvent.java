@@ -0,0 +1,77 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Base class for events that buffer submitted arguments and dispatch them to their own handlers at most once per
+ * server tick. Handlers registered on this event receive the buffered arguments in some combined form. Subclasses
+ * define how arguments are buffered and how the buffer is dispatched.
+ *
+ * When created with a source event, this event only listens to the source while it has handlers of its own, in the
+ * same way that proxy events only register with Bukkit while they are needed.
+ *
+ * Like {@link SimpleEvent}, this class is not thread safe; arguments should be submitted from the main thread.
+ * @param <T> The type of argument submitted to this event
+ * @param <V> The type of argument handlers of this event receive
+ */
+abstract class TickCoalescingEvent<T, V> extends SimpleEvent<V> {
+    private final Event<T> source;
+    private final TickScheduler scheduler;
+    private final EventHandler<T> sourceHandler = this::submit;
+
+    private boolean flushScheduled;
+
+    TickCoalescingEvent(@Nullable Event<T> source, @NotNull TickScheduler scheduler) {
+        this.source = source;
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    }
+
+    /**
+     * Buffers the given arguments. Handlers will be called with the buffered arguments during the next flush, which
+     * is scheduled by this call if one is not already pending. If scheduling the flush fails, the exception is
+     * rethrown and the next call tries to schedule it again.
+     * @param sender The object submitting the arguments
+     * @param args The arguments to buffer
+     */
+    public void submit(Object sender, T args) {
+        buffer(args);
+
+        if(!flushScheduled) {
+            flushScheduled = true;
+
+            try {
+                scheduler.runLater(this::runFlush, 1);
+            }
+            catch (RuntimeException exception) {
+                flushScheduled = false; //otherwise nothing would ever be flushed again
+                throw exception;
+            }
+        }
+    }
+
+    private void runFlush() {
+        flushScheduled = false; //arguments submitted by handlers during the flush go to the next one
+        flush();
+    }
+
+    abstract void buffer(T args);
+
+    abstract void flush();
+
+    @Override
+    protected void onHandlerCountChange(int oldSize, int newSize) {
+        super.onHandlerCountChange(oldSize, newSize);
+
+        if(source != null) {
+            if(oldSize > 0 && newSize == 0) {
+                source.removeHandler(sourceHandler);
+            }
+            else if(oldSize == 0 && newSize > 0) {
+                source.addHandler(sourceHandler);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.zap.commons.event;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Source of server ticks used by time-based event operators such as {@link Event#throttle(TickScheduler, long)},
+ * {@link Event#debounce(TickScheduler, long)} and {@link Event#batchPerTick(TickScheduler)}. The Bukkit implementation is returned by
+ * {@link TickScheduler#bukkit(Plugin)}; tests may supply their own implementation to control the passage of time.
+ */
+public interface TickScheduler {
+    /**
+     * @return The current tick. Only differences between values returned by the same scheduler are meaningful
+     */
+    long currentTick();
+
+    /**
+     * Runs the given task on the main thread after the given number of ticks.
+     * @param task The task to run
+     * @param delayTicks The number of ticks to wait, which will be at least 1
+     */
+    void runLater(@NotNull Runnable task, long delayTicks);
+
+    /**
+     * Creates a TickScheduler using the Bukkit scheduler.
+     * @param plugin The plugin to schedule tasks under
+     * @return A new TickScheduler
+     */
+    static @NotNull TickScheduler bukkit(@NotNull Plugin plugin) {
+        Objects.requireNonNull(plugin, "plugin cannot be null");
+
+        return new TickScheduler() {
+            @Override
+            public long currentTick() {
+                return plugin.getServer().getCurrentTick();
+            }
+
+            @Override
+            public void runLater(@NotNull Runnable task, long delayTicks) {
+                plugin.getServer().getScheduler().runTaskLater(plugin, task, delayTicks);
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+
+/**
+ * Handler that only weakly references the handler it decorates. Once the decorated handler has been garbage collected,
+ * invoking this handler removes it from the event it was registered with. See {@link Event#addWeakHandler(EventHandler)}.
+ * @param <T> The type of argument the event handler receives
+ */
+final class WeakHandler<T> extends WeakReference<EventHandler<T>> implements WrappedHandler<T> {
+    private final Event<T> event;
+
+    WeakHandler(@NotNull Event<T> event, @NotNull EventHandler<T> handler) {
+        super(Objects.requireNonNull(handler, "handler cannot be null"));
+        this.event = event;
+    }
+
+    @Override
+    public void invoke(Object sender, T args) {
+        EventHandler<T> handler = get();
+        if(handler != null) {
+            handler.invoke(sender, args);
+        }
+        else { //deferred until the end of the invocation by events that don't allow modification while invoking
+            event.removeHandler(this);
+        }
+    }
+
+    @Override
+    public @Nullable EventHandler<T> handler() {
+        return get();
+    }
+
+    /**
+     * @return true if the decorated handler has been garbage collected
+     */
+    boolean isCleared() {
+        return get() == null;
+    }
+}
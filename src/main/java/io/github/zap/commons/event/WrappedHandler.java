@@ -0,0 +1,18 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@link EventHandler} that decorates another handler. Events in this package that store decorated handlers compare
+ * user-supplied handlers against the decorated one, so callers can still look up or remove the exact handler instance
+ * they registered.
+ *
+ * Decorators that reference the decorated handler weakly return null once it has been garbage collected.
+ * @param <T> The type of argument the event handler receives
+ */
+interface WrappedHandler<T> extends EventHandler<T> {
+    /**
+     * @return The handler being decorated, or null if it is no longer reachable
+     */
+    @Nullable EventHandler<T> handler();
+}
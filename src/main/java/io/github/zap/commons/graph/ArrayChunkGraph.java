@@ -9,8 +9,24 @@ import java.util.Iterator;
  * Array-based implementation of a chunk graph, which is a data structure that stores elements indexed by 3 integer keys.
  */
 public class ArrayChunkGraph<T> implements ChunkGraph<T> {
+    /**
+     * Describes the containers currently allocated by an ArrayChunkGraph, along with a rough estimate of the heap
+     * space they occupy. The estimate assumes a 64-bit JVM with compressed oops (12-byte object headers, 4-byte
+     * references, 8-byte alignment) and does not include the stored elements themselves.
+     */
+    public record Footprint(int chunks, int segments, int layers, int rows, long estimatedBytes) {}
+
+    //NodeChunk: header + array, chunkArray + emptyCount, chunkX, chunkZ
+    private static final long CHUNK_BYTES = align(12 + 4 + 4 + 4 + 4 + 4);
+
+    //NodeSegment, NodeLayer, NodeRow: header + array, parent + emptyCount, parentIndex
+    private static final long CONTAINER_BYTES = align(12 + 4 + 4 + 4 + 4);
+
+    //backing array of every container
+    private static final long CONTAINER_ARRAY_BYTES = align(16 + 4L * NodeUtils.CONTAINER_SIZE);
+
     private class ArrayChunkGraphIterator implements Iterator<T> {
-        private static record Indices(int x, int z, int s, int l, int r, int n, NodeLocation cached) {}
+        private static record Indices(int x, int z, int s, int l, int r, int n, Object cached) {}
 
         private int x = 0;
         private int z = -1;
@@ -23,7 +39,9 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
         private NodeSegment segment;
         private NodeLayer layer;
         private NodeRow row;
-        private NodeLocation node;
+
+        private NodeRow lastRow;
+        private int lastIndex;
 
         private Indices cachedIndices; //so we don't have to iterate twice
 
@@ -34,41 +52,34 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
 
         @Override
         public T next() {
-            if(cachedIndices != null) {
-                updateIndices();
-
-                //noinspection unchecked
-                T value = (T)cachedIndices.cached.node();
-                cachedIndices = null;
-                return value;
+            if(cachedIndices == null && nextInternal() == null) {
+                throw new IllegalStateException("Iterator has no more elements!");
             }
-            else {
-                NodeLocation next = nextInternal();
-
-                if(next == null) {
-                    throw new IllegalStateException("Iterator has no more elements!");
-                }
 
-                cachedIndices = null;
+            updateIndices();
+            lastRow = row;
+            lastIndex = n;
 
-                //noinspection unchecked
-                return (T)next.node();
-            }
+            //noinspection unchecked
+            T value = (T)cachedIndices.cached;
+            cachedIndices = null;
+            return value;
         }
 
         @Override
         public void remove() {
-            if(node == null) {
+            if(lastRow == null) {
                 throw new IllegalStateException("next() must be called once for each remove");
             }
 
             cachedIndices = null;
 
-            node.remove();
-            node = null;
+            lastRow.set(lastIndex, null);
+            lastRow = null;
+            size--;
         }
 
-        private NodeLocation nextInternal() {
+        private Object nextInternal() {
             if(cachedIndices != null) {
                 return cachedIndices.cached;
             }
@@ -142,9 +153,9 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
                 n = 0;
             }
 
-            ArrayContainer.Entry<NodeLocation> nextNode = row.firstNonNull(n);
+            ArrayContainer.Entry<Object> nextNode = row.firstNonNull(n);
             n = nextNode.index();
-            node = nextNode.element();
+            Object node = nextNode.element();
 
             cachedIndices = new Indices(x, z, s, l, r, n, node);
             return node;
@@ -212,9 +223,8 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
                         NodeRow row = layer.get(x & 15);
 
                         if(row != null) {
-                            NodeLocation nodeLocation = row.get(z & 15);
                             //noinspection unchecked
-                            return nodeLocation == null ? null : (T)nodeLocation.node();
+                            return (T)row.get(z & 15);
                         }
                     }
                 }
@@ -244,7 +254,7 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
                     if(layer != null) {
                         NodeRow row = layer.get(x & 15);
 
-                        if(row != null) {
+                        if(row != null && row.get(z & 15) != null) {
                             row.set(z & 15, null);
                             size--;
                             return true;
@@ -278,7 +288,7 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
         if(inRange(indexX, y, indexZ)) {
             NodeChunk nodeChunk = chunkArray[indexX][indexZ];
             nodeChunk = nodeChunk == null ? (chunkArray[indexX][indexZ] =
-                    new NodeChunk(indexX, indexZ, (a, b) -> chunkArray[a][b] = null)) : nodeChunk;
+                    new NodeChunk(chunkArray, indexX, indexZ)) : nodeChunk;
 
             int segmentIndex = y >> 4;
             int layerIndex = y & 15;
@@ -309,16 +319,56 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
             }
 
             if(row.get(nodeIndex) == null) {
-                size++;
+                if(node != null) {
+                    size++;
+                }
+            }
+            else if(node == null) {
+                size--;
             }
 
-            row.set(nodeIndex, node == null ? null : new NodeLocation(row, node, nodeIndex));
+            row.set(nodeIndex, node);
         }
         else {
             throw new ArrayIndexOutOfBoundsException("Key at x=" + x + ", y=" + y + ", z=" + z + " out of bounds for putElement");
         }
     }
 
+    /**
+     * Resolves the segment (16x16x16 section) containing the given block, so that repeated lookups within the same
+     * section can skip the chunk and segment levels.
+     * @return The segment, or null if it is not allocated or the coordinates are out of bounds
+     */
+    @Nullable NodeSegment segmentAt(int x, int y, int z) {
+        int indexX = (x >> 4) - minX;
+        int indexZ = (z >> 4) - minZ;
+
+        if(inRange(indexX, y, indexZ)) {
+            NodeChunk nodeChunk = chunkArray[indexX][indexZ];
+            return nodeChunk == null ? null : nodeChunk.get(y >> 4);
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the element for the given block from a segment previously returned by {@link #segmentAt(int, int, int)}
+     * for the same section.
+     */
+    static @Nullable Object elementIn(@NotNull NodeSegment segment, int x, int y, int z) {
+        NodeLayer layer = segment.get(y & 15);
+
+        if(layer != null) {
+            NodeRow row = layer.get(x & 15);
+
+            if(row != null) {
+                return row.get(z & 15);
+            }
+        }
+
+        return null;
+    }
+
     private boolean inRange(int indexX, int y, int indexZ) {
         return indexX >= 0 && indexX < width && y >= 0 && y < 256 && indexZ >= 0 && indexZ < height;
     }
@@ -328,4 +378,55 @@ public class ArrayChunkGraph<T> implements ChunkGraph<T> {
     public Iterator<T> iterator() {
         return new ArrayChunkGraphIterator();
     }
+
+    /**
+     * Walks every allocated container in this graph to compute its current {@link Footprint}. This is linear in the
+     * number of allocated containers, so it is intended for periodic reporting rather than frequent calls.
+     * @return The current footprint of this graph
+     */
+    public @NotNull Footprint footprint() {
+        int chunks = 0;
+        int segments = 0;
+        int layers = 0;
+        int rows = 0;
+
+        for(NodeChunk[] chunkColumn : chunkArray) {
+            for(NodeChunk chunk : chunkColumn) {
+                if(chunk == null) {
+                    continue;
+                }
+
+                chunks++;
+                for(NodeSegment segment : chunk.array) {
+                    if(segment == null) {
+                        continue;
+                    }
+
+                    segments++;
+                    for(NodeLayer layer : segment.array) {
+                        if(layer == null) {
+                            continue;
+                        }
+
+                        layers++;
+                        for(NodeRow row : layer.array) {
+                            if(row != null) {
+                                rows++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        long chunkArrayBytes = align(16 + 4L * width) + width * align(16 + 4L * height);
+        long estimatedBytes = chunkArrayBytes + chunks * (CHUNK_BYTES + CONTAINER_ARRAY_BYTES) +
+                (long)(segments + layers + rows) * (CONTAINER_BYTES + CONTAINER_ARRAY_BYTES);
+
+        return new Footprint(chunks, segments, layers, rows, estimatedBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
 }
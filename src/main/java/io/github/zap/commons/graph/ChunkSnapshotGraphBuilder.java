@@ -0,0 +1,186 @@
+package io.github.zap.commons.graph;
+
+import org.bukkit.ChunkSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Populates a {@link ChunkGraph} from {@link ChunkSnapshot} objects. Snapshots are cheap to capture on the main thread
+ * and safe to read from any thread, so classifying their blocks can happen in parallel on a worker pool instead of
+ * stalling ticks with {@link org.bukkit.World#getBlockAt(int, int, int)} calls.
+ *
+ * Each snapshot is classified independently on the worker executor. The results for a chunk are then inserted into
+ * the graph in bulk on the insertion executor, which is the only place the graph is touched. Since most ChunkGraph
+ * implementations (including {@link ArrayChunkGraph}) are not thread safe, the insertion executor should run tasks
+ * on whatever thread normally accesses the graph, for example the main thread via the Bukkit scheduler, or serially.
+ * Only graphs that are themselves thread safe may be built with an insertion executor that runs tasks concurrently;
+ * in that case, progress updates may also arrive concurrently and out of order.
+ * @param <T> The type of element stored in the graph
+ */
+public class ChunkSnapshotGraphBuilder<T> {
+    /**
+     * Decides which element, if any, should be stored in the graph for a block.
+     * @param <T> The type of element stored in the graph
+     */
+    @FunctionalInterface
+    public interface BlockClassifier<T> {
+        /**
+         * Classifies a single block. Called on a worker thread; implementations must not access the Bukkit API beyond
+         * the provided snapshot.
+         * @param snapshot The snapshot containing the block
+         * @param x The chunk-relative x coordinate, in [0, 16)
+         * @param y The y coordinate
+         * @param z The chunk-relative z coordinate, in [0, 16)
+         * @return The element to store for this block, or null if nothing should be stored
+         */
+        @Nullable T classify(@NotNull ChunkSnapshot snapshot, int x, int y, int z);
+    }
+
+    /**
+     * Receives progress updates from a build. Called on the insertion executor after each chunk has been inserted.
+     * With a serial insertion executor, completedChunks increases by one with each call.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param completedChunks The number of chunks that have been inserted so far
+         * @param totalChunks The total number of chunks in this build
+         */
+        void onProgress(int completedChunks, int totalChunks);
+    }
+
+    private record ChunkResult(int chunkX, int chunkZ, int[] positions, Object[] elements, int count) {}
+
+    private static final int SECTION_COUNT = 16;
+
+    private final ChunkGraph<T> graph;
+    private final BlockClassifier<T> classifier;
+    private final Executor workerExecutor;
+    private final Executor insertionExecutor;
+
+    /**
+     * Creates a new builder.
+     * @param graph The graph to insert classified blocks into
+     * @param classifier The classifier used to convert blocks into graph elements
+     * @param workerExecutor The executor on which snapshots are classified, typically a thread pool
+     * @param insertionExecutor The executor on which results are inserted into the graph
+     */
+    public ChunkSnapshotGraphBuilder(@NotNull ChunkGraph<T> graph, @NotNull BlockClassifier<T> classifier,
+                                     @NotNull Executor workerExecutor, @NotNull Executor insertionExecutor) {
+        this.graph = Objects.requireNonNull(graph, "graph cannot be null");
+        this.classifier = Objects.requireNonNull(classifier, "classifier cannot be null");
+        this.workerExecutor = Objects.requireNonNull(workerExecutor, "workerExecutor cannot be null");
+        this.insertionExecutor = Objects.requireNonNull(insertionExecutor, "insertionExecutor cannot be null");
+    }
+
+    /**
+     * Classifies and inserts all blocks from the given snapshots. Sections reported empty by
+     * {@link ChunkSnapshot#isSectionEmpty(int)} are skipped without invoking the classifier, except for the bottom layer
+     * of an empty section directly above a non-empty one: those blocks may rest on the section below (for example, air
+     * above the topmost solid block), so they are still classified.
+     * @param snapshots The snapshots to process
+     * @param progressListener The listener to notify as chunks are inserted, or null
+     * @return A future that completes once every chunk has been inserted, or completes exceptionally with the first
+     * failure
+     */
+    public @NotNull CompletableFuture<Void> build(@NotNull Collection<? extends ChunkSnapshot> snapshots,
+                                                  @Nullable ProgressListener progressListener) {
+        Objects.requireNonNull(snapshots, "snapshots cannot be null");
+
+        int total = snapshots.size();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+        AtomicInteger completed = new AtomicInteger(); //the insertion executor is not required to be serial
+
+        for(ChunkSnapshot snapshot : snapshots) {
+            futures.add(CompletableFuture.supplyAsync(() -> classify(snapshot), workerExecutor)
+                    .thenAcceptAsync(result -> {
+                        insert(result);
+
+                        int done = completed.incrementAndGet();
+                        if(progressListener != null) {
+                            progressListener.onProgress(done, total);
+                        }
+                    }, insertionExecutor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * See {@link ChunkSnapshotGraphBuilder#build(Collection, ProgressListener)}. No progress is reported.
+     * @param snapshots The snapshots to process
+     * @return A future that completes once every chunk has been inserted
+     */
+    public @NotNull CompletableFuture<Void> build(@NotNull Collection<? extends ChunkSnapshot> snapshots) {
+        return build(snapshots, null);
+    }
+
+    private ChunkResult classify(ChunkSnapshot snapshot) {
+        int[] positions = new int[256];
+        Object[] elements = new Object[256];
+        int count = 0;
+
+        boolean belowEmpty = true;
+        for(int section = 0; section < SECTION_COUNT; section++) {
+            int minY = section << 4;
+            int maxY;
+
+            if(snapshot.isSectionEmpty(section)) {
+                if(belowEmpty) {
+                    continue;
+                }
+
+                belowEmpty = true;
+                maxY = minY + 1; //only the layer that can touch the non-empty section below
+            }
+            else {
+                belowEmpty = false;
+                maxY = minY + 16;
+            }
+
+            for(int y = minY; y < maxY; y++) {
+                for(int x = 0; x < 16; x++) {
+                    for(int z = 0; z < 16; z++) {
+                        T element = classifier.classify(snapshot, x, y, z);
+
+                        if(element != null) {
+                            if(count == positions.length) {
+                                positions = Arrays.copyOf(positions, count << 1);
+                                elements = Arrays.copyOf(elements, count << 1);
+                            }
+
+                            positions[count] = (y << 8) | (x << 4) | z;
+                            elements[count++] = element;
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ChunkResult(snapshot.getX(), snapshot.getZ(), positions, elements, count);
+    }
+
+    private void insert(ChunkResult result) {
+        int baseX = result.chunkX << 4;
+        int baseZ = result.chunkZ << 4;
+        int[] positions = result.positions;
+        Object[] elements = result.elements;
+
+        for(int i = 0; i < result.count; i++) {
+            int position = positions[i];
+
+            //noinspection unchecked
+            graph.putElement(baseX + ((position >> 4) & 15), position >> 8, baseZ + (position & 15),
+                    (T)elements[i]);
+        }
+    }
+}
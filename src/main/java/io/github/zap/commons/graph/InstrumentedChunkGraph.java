@@ -0,0 +1,115 @@
+package io.github.zap.commons.graph;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator for {@link ChunkGraph} that counts accesses made to the wrapped graph. Counters are {@link LongAdder}
+ * instances, so they may be read from another thread (e.g. by a metrics exporter) without slowing down the thread
+ * accessing the graph. The wrapped graph's own thread-safety characteristics are otherwise unchanged.
+ *
+ * Calls to {@link ChunkGraph#elementAt(int, int, int)} and {@link ChunkGraph#hasElementAt(int, int, int)} are counted
+ * as gets; gets that find no element are additionally counted as misses. Removals that find no element are also
+ * counted as misses.
+ * @param <T> The type of element stored in the graph
+ */
+public class InstrumentedChunkGraph<T> implements ChunkGraph<T> {
+    /**
+     * Point-in-time copy of the access counters of an {@link InstrumentedChunkGraph}.
+     */
+    public record Metrics(long gets, long puts, long removes, long misses) {}
+
+    private final ChunkGraph<T> graph;
+
+    private final LongAdder gets = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder removes = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public InstrumentedChunkGraph(@NotNull ChunkGraph<T> graph) {
+        this.graph = Objects.requireNonNull(graph, "graph cannot be null");
+    }
+
+    @Override
+    public @Nullable T elementAt(int x, int y, int z) {
+        gets.increment();
+
+        T element = graph.elementAt(x, y, z);
+        if(element == null) {
+            misses.increment();
+        }
+
+        return element;
+    }
+
+    @Override
+    public void putElement(int x, int y, int z, @Nullable T element) {
+        puts.increment();
+        graph.putElement(x, y, z, element);
+    }
+
+    @Override
+    public boolean removeElement(int x, int y, int z) {
+        removes.increment();
+
+        boolean removed = graph.removeElement(x, y, z);
+        if(!removed) {
+            misses.increment();
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean hasElementAt(int x, int y, int z) {
+        gets.increment();
+
+        boolean hasElement = graph.hasElementAt(x, y, z);
+        if(!hasElement) {
+            misses.increment();
+        }
+
+        return hasElement;
+    }
+
+    @Override
+    public int size() {
+        return graph.size();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return graph.iterator();
+    }
+
+    /**
+     * @return The graph wrapped by this instance
+     */
+    public @NotNull ChunkGraph<T> wrapped() {
+        return graph;
+    }
+
+    /**
+     * Takes a snapshot of the access counters. Counters are read individually, so the snapshot is not atomic with
+     * respect to concurrent updates.
+     * @return The current access counters
+     */
+    public @NotNull Metrics metrics() {
+        return new Metrics(gets.sum(), puts.sum(), removes.sum(), misses.sum());
+    }
+
+    /**
+     * Resets all access counters to zero.
+     */
+    public void resetMetrics() {
+        gets.reset();
+        puts.reset();
+        removes.reset();
+        misses.reset();
+    }
+}
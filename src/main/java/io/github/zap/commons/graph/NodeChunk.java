@@ -3,26 +3,25 @@ package io.github.zap.commons.graph;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.function.BiConsumer;
-
 class NodeChunk extends ArrayContainer<NodeSegment> {
-    private int emptyCount = 16;
+    private int emptyCount = NodeUtils.CONTAINER_SIZE;
 
+    private final NodeChunk[][] chunkArray;
     private final int chunkX;
     private final int chunkZ;
 
-    private final BiConsumer<Integer, Integer> chunkRemover;
-
-    NodeChunk(int chunkX, int chunkZ, @NotNull BiConsumer<Integer, Integer> chunkRemover) {
-        super(new NodeSegment[16]);
+    NodeChunk(@NotNull NodeChunk[][] chunkArray, int chunkX, int chunkZ) {
+        super(new NodeSegment[NodeUtils.CONTAINER_SIZE]);
+        this.chunkArray = chunkArray;
         this.chunkX = chunkX;
         this.chunkZ = chunkZ;
-        this.chunkRemover = chunkRemover;
     }
 
     void set(int y, @Nullable NodeSegment segment) {
-        emptyCount = NodeUtils.setterHelper(segment, array, y, emptyCount, (a, b) ->
-                chunkRemover.accept(chunkX, chunkZ), -1);
+        //remove this chunk from the graph if we're totally empty
+        if((emptyCount = NodeUtils.setterHelper(segment, array, y, emptyCount)) == NodeUtils.CONTAINER_SIZE) {
+            chunkArray[chunkX][chunkZ] = null;
+        }
     }
 
     @Nullable NodeSegment get(int y) {
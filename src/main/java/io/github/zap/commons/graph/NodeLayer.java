@@ -5,17 +5,19 @@ import org.jetbrains.annotations.Nullable;
 
 class NodeLayer extends ArrayContainer<NodeRow> {
     private final NodeSegment parent;
-    private int emptyCount = 16;
+    private int emptyCount = NodeUtils.CONTAINER_SIZE;
     private final int parentIndex;
 
     NodeLayer(@NotNull NodeSegment parent, int parentIndex) {
-        super(new NodeRow[16]);
+        super(new NodeRow[NodeUtils.CONTAINER_SIZE]);
         this.parent = parent;
         this.parentIndex = parentIndex;
     }
 
-    void set(int x, @Nullable NodeRow nodeLocation) {
-        emptyCount = NodeUtils.setterHelper(nodeLocation, array, x, emptyCount, parent::set, parentIndex);
+    void set(int x, @Nullable NodeRow nodeRow) {
+        if((emptyCount = NodeUtils.setterHelper(nodeRow, array, x, emptyCount)) == NodeUtils.CONTAINER_SIZE) {
+            parent.set(parentIndex, null);
+        }
     }
 
     @Nullable NodeRow get(int x) {
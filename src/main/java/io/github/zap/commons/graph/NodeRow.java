@@ -3,22 +3,28 @@ package io.github.zap.commons.graph;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-class NodeRow extends ArrayContainer<NodeLocation> {
+/**
+ * The innermost container. Elements are stored directly in the backing array so that putting or removing an element
+ * in an existing row does not allocate.
+ */
+class NodeRow extends ArrayContainer<Object> {
     private final NodeLayer parent;
-    private int emptyCount = 16;
+    private int emptyCount = NodeUtils.CONTAINER_SIZE;
     private final int parentIndex;
 
     NodeRow(@NotNull NodeLayer parent, int parentIndex) {
-        super(new NodeLocation[16]);
+        super(new Object[NodeUtils.CONTAINER_SIZE]);
         this.parent = parent;
         this.parentIndex = parentIndex;
     }
 
-    void set(int z, @Nullable NodeLocation nodeLocation) {
-        emptyCount = NodeUtils.setterHelper(nodeLocation, array, z, emptyCount, parent::set, parentIndex);
+    void set(int z, @Nullable Object node) {
+        if((emptyCount = NodeUtils.setterHelper(node, array, z, emptyCount)) == NodeUtils.CONTAINER_SIZE) {
+            parent.set(parentIndex, null);
+        }
     }
 
-    @Nullable NodeLocation get(int z) {
+    @Nullable Object get(int z) {
         return array[z];
     }
 }
@@ -5,17 +5,19 @@ import org.jetbrains.annotations.Nullable;
 
 class NodeSegment extends ArrayContainer<NodeLayer> {
     private final NodeChunk parent;
-    private int emptyCount = 16;
+    private int emptyCount = NodeUtils.CONTAINER_SIZE;
     private final int parentIndex;
 
     NodeSegment(@NotNull NodeChunk parent, int parentIndex) {
-        super(new NodeLayer[16]);
+        super(new NodeLayer[NodeUtils.CONTAINER_SIZE]);
         this.parent = parent;
         this.parentIndex = parentIndex;
     }
 
     void set(int y, @Nullable NodeLayer nodeLayer) {
-        emptyCount = NodeUtils.setterHelper(nodeLayer, array, y, emptyCount, parent::set, parentIndex);
+        if((emptyCount = NodeUtils.setterHelper(nodeLayer, array, y, emptyCount)) == NodeUtils.CONTAINER_SIZE) {
+            parent.set(parentIndex, null);
+        }
     }
 
     @Nullable NodeLayer get(int y) {
@@ -1,29 +1,28 @@
 package io.github.zap.commons.graph;
 
-import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.function.BiConsumer;
-
 class NodeUtils {
-    static <T, V> int setterHelper(@Nullable T element, T[] array, int index, int currentEmptyCount,
-                                   @NotNull BiConsumer<Integer, V> parentSetter, int parentIndex) {
+    /**
+     * The number of slots in every container; a container whose empty count reaches this value holds no elements.
+     */
+    static final int CONTAINER_SIZE = 16;
+
+    /**
+     * Stores an element in a container's backing array, returning the container's updated empty count. Callers are
+     * responsible for detaching themselves from their parent when the returned count equals {@link #CONTAINER_SIZE}.
+     */
+    static <T> int setterHelper(@Nullable T element, T[] array, int index, int currentEmptyCount) {
+        T previous = array[index];
+        array[index] = element;
+
         if(element != null) {
-            if(array[index] == null) {
-                array[index] = element;
+            if(previous == null) {
                 currentEmptyCount--;
             }
         }
-        else {
-            if(array[index] != null) {
-                array[index] = null;
-                currentEmptyCount++;
-            }
-        }
-
-        //remove current node (whatever it is) from the parent, if we're totally empty
-        if(currentEmptyCount == 16) {
-            parentSetter.accept(parentIndex, null);
+        else if(previous != null) {
+            currentEmptyCount++;
         }
 
         return currentEmptyCount;
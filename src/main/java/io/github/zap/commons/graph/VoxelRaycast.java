@@ -0,0 +1,318 @@
+package io.github.zap.commons.graph;
+
+import io.github.zap.commons.vectors.Vector3D;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Line-of-sight and visibility queries over a {@link ChunkGraph}, using the voxel traversal algorithm described by
+ * Amanatides and Woo. Every cell the segment passes through is visited exactly once, in order, including the cells
+ * containing the start and end points.
+ *
+ * When the graph is an {@link ArrayChunkGraph}, the 16x16x16 section containing the current cell is resolved once and
+ * reused for as long as the ray stays inside it. The batch methods additionally share resolved sections between all
+ * rays cast from the same origin. The graph must not be modified while a query is running.
+ */
+public final class VoxelRaycast {
+    /**
+     * The first cell along a ray that matched a predicate.
+     * @param x The block x coordinate of the cell
+     * @param y The block y coordinate of the cell
+     * @param z The block z coordinate of the cell
+     * @param element The element stored in the cell, or null if the cell is empty
+     * @param <T> The type of element stored in the graph
+     */
+    public record Hit<T>(int x, int y, int z, @Nullable T element) {}
+
+    private interface CellReader<T> {
+        @Nullable T read(int x, int y, int z);
+    }
+
+    /**
+     * Direct-mapped cache of resolved segments, keyed by section coordinates.
+     */
+    private static final class SectionCache<T> implements CellReader<T> {
+        private static final long NO_KEY = Long.MIN_VALUE; //unreachable, since section x never exceeds 28 bits
+
+        private final ArrayChunkGraph<T> graph;
+        private final long[] keys;
+        private final NodeSegment[] segments;
+
+        private long lastKey = NO_KEY;
+        private NodeSegment lastSegment;
+
+        private SectionCache(ArrayChunkGraph<T> graph, int size) {
+            this.graph = graph;
+            keys = new long[size];
+            segments = new NodeSegment[size];
+            Arrays.fill(keys, NO_KEY);
+        }
+
+        @Override
+        public @Nullable T read(int x, int y, int z) {
+            if(y < 0 || y > 255) {
+                return null;
+            }
+
+            long key = ((long)(x >> 4) << 32) | ((long)(z >> 4) & 0x0FFFFFFFL) << 4 | (y >> 4);
+            if(key != lastKey) {
+                int slot = (int)(key ^ (key >>> 29)) & (keys.length - 1);
+
+                if(keys[slot] != key) {
+                    keys[slot] = key;
+                    segments[slot] = graph.segmentAt(x, y, z);
+                }
+
+                lastKey = key;
+                lastSegment = segments[slot];
+            }
+
+            //noinspection unchecked
+            return lastSegment == null ? null : (T)ArrayChunkGraph.elementIn(lastSegment, x, y, z);
+        }
+    }
+
+    //batch queries from one origin tend to revisit the same handful of sections; must be a power of 2
+    private static final int BATCH_CACHE_SIZE = 64;
+
+    private VoxelRaycast() {}
+
+    /**
+     * Walks the cells along the segment between two points, stopping at the first cell whose element matches the
+     * predicate. Empty cells, and cells outside of the graph's bounds, are tested with a null element.
+     * @param graph The graph to query
+     * @param from The start of the segment
+     * @param to The end of the segment
+     * @param predicate The predicate to test each cell's element against
+     * @param <T> The type of element stored in the graph
+     * @return The first matching cell, or null if no cell along the segment matched
+     */
+    public static <T> @Nullable Hit<T> raycast(@NotNull ChunkGraph<T> graph, @NotNull Vector3D from,
+                                               @NotNull Vector3D to, @NotNull Predicate<? super T> predicate) {
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        return raycast(graph, from.x(), from.y(), from.z(), to.x(), to.y(), to.z(), predicate);
+    }
+
+    /**
+     * See {@link VoxelRaycast#raycast(ChunkGraph, Vector3D, Vector3D, Predicate)}.
+     */
+    public static <T> @Nullable Hit<T> raycast(@NotNull ChunkGraph<T> graph, double fromX, double fromY, double fromZ,
+                                               double toX, double toY, double toZ,
+                                               @NotNull Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+        return traverse(reader(graph, 1), fromX, fromY, fromZ, toX, toY, toZ, predicate);
+    }
+
+    /**
+     * Determines if no cell along the segment between two points matches the predicate. Unlike
+     * {@link VoxelRaycast#raycast(ChunkGraph, Vector3D, Vector3D, Predicate)}, this does not create a {@link Hit}.
+     * @param graph The graph to query
+     * @param from The start of the segment
+     * @param to The end of the segment
+     * @param obstruction The predicate identifying cells that block sight
+     * @param <T> The type of element stored in the graph
+     * @return true if there is an unobstructed line of sight; false otherwise
+     */
+    public static <T> boolean hasLineOfSight(@NotNull ChunkGraph<T> graph, @NotNull Vector3D from,
+                                             @NotNull Vector3D to, @NotNull Predicate<? super T> obstruction) {
+        Objects.requireNonNull(from, "from cannot be null");
+        Objects.requireNonNull(to, "to cannot be null");
+        Objects.requireNonNull(obstruction, "obstruction cannot be null");
+        return !traverseTest(reader(graph, 1), from.x(), from.y(), from.z(), to.x(), to.y(), to.z(), obstruction);
+    }
+
+    /**
+     * Casts a ray from one origin to each of the given targets. Sections resolved by one ray are reused by the others.
+     * @param graph The graph to query
+     * @param origin The start of every segment
+     * @param targets The ends of the segments
+     * @param predicate The predicate to test each cell's element against
+     * @param <T> The type of element stored in the graph
+     * @return A list with one entry per target, in the same order; entries are null for rays that matched nothing
+     */
+    public static <T> @NotNull List<Hit<T>> raycastAll(@NotNull ChunkGraph<T> graph, @NotNull Vector3D origin,
+                                                       @NotNull List<? extends Vector3D> targets,
+                                                       @NotNull Predicate<? super T> predicate) {
+        Objects.requireNonNull(origin, "origin cannot be null");
+        Objects.requireNonNull(targets, "targets cannot be null");
+        Objects.requireNonNull(predicate, "predicate cannot be null");
+
+        CellReader<T> reader = reader(graph, BATCH_CACHE_SIZE);
+        List<Hit<T>> hits = new ArrayList<>(targets.size());
+        for(Vector3D target : targets) {
+            hits.add(traverse(reader, origin.x(), origin.y(), origin.z(), target.x(), target.y(), target.z(),
+                    predicate));
+        }
+
+        return hits;
+    }
+
+    /**
+     * Checks line of sight from one origin to each of the given targets. Sections resolved by one ray are reused by
+     * the others.
+     * @param graph The graph to query
+     * @param origin The start of every segment
+     * @param targets The ends of the segments
+     * @param obstruction The predicate identifying cells that block sight
+     * @param <T> The type of element stored in the graph
+     * @return An array with one entry per target, in the same order; true if that target is visible from the origin
+     */
+    public static <T> boolean @NotNull [] hasLineOfSightAll(@NotNull ChunkGraph<T> graph, @NotNull Vector3D origin,
+                                                           @NotNull List<? extends Vector3D> targets,
+                                                           @NotNull Predicate<? super T> obstruction) {
+        Objects.requireNonNull(origin, "origin cannot be null");
+        Objects.requireNonNull(targets, "targets cannot be null");
+        Objects.requireNonNull(obstruction, "obstruction cannot be null");
+
+        CellReader<T> reader = reader(graph, BATCH_CACHE_SIZE);
+        boolean[] visible = new boolean[targets.size()];
+        for(int i = 0; i < visible.length; i++) {
+            Vector3D target = targets.get(i);
+            visible[i] = !traverseTest(reader, origin.x(), origin.y(), origin.z(), target.x(), target.y(), target.z(),
+                    obstruction);
+        }
+
+        return visible;
+    }
+
+    private static <T> CellReader<T> reader(ChunkGraph<T> graph, int cacheSize) {
+        Objects.requireNonNull(graph, "graph cannot be null");
+
+        if(graph instanceof ArrayChunkGraph<T> arrayGraph) {
+            return new SectionCache<>(arrayGraph, cacheSize);
+        }
+
+        return (x, y, z) -> {
+            try {
+                return graph.elementAt(x, y, z);
+            }
+            catch (ArrayIndexOutOfBoundsException ignored) {
+                return null;
+            }
+        };
+    }
+
+    private static <T> Hit<T> traverse(CellReader<T> reader, double x0, double y0, double z0, double x1, double y1,
+                                       double z1, Predicate<? super T> predicate) {
+        Traversal traversal = new Traversal(x0, y0, z0, x1, y1, z1);
+
+        do {
+            T element = reader.read(traversal.x, traversal.y, traversal.z);
+            if(predicate.test(element)) {
+                return new Hit<>(traversal.x, traversal.y, traversal.z, element);
+            }
+        }
+        while(traversal.advance());
+
+        return null;
+    }
+
+    private static <T> boolean traverseTest(CellReader<T> reader, double x0, double y0, double z0, double x1,
+                                            double y1, double z1, Predicate<? super T> predicate) {
+        Traversal traversal = new Traversal(x0, y0, z0, x1, y1, z1);
+
+        do {
+            if(predicate.test(reader.read(traversal.x, traversal.y, traversal.z))) {
+                return true;
+            }
+        }
+        while(traversal.advance());
+
+        return false;
+    }
+
+    /**
+     * Traversal state for a single segment. The number of steps along each axis is fixed up front, so floating point
+     * error can never carry the walk past the cell containing the end point.
+     */
+    private static final class Traversal {
+        private int x;
+        private int y;
+        private int z;
+
+        private final int stepX;
+        private final int stepY;
+        private final int stepZ;
+
+        private final double deltaX;
+        private final double deltaY;
+        private final double deltaZ;
+
+        private double maxX;
+        private double maxY;
+        private double maxZ;
+
+        private int remainingX;
+        private int remainingY;
+        private int remainingZ;
+
+        private Traversal(double x0, double y0, double z0, double x1, double y1, double z1) {
+            x = (int)Math.floor(x0);
+            y = (int)Math.floor(y0);
+            z = (int)Math.floor(z0);
+
+            int endX = (int)Math.floor(x1);
+            int endY = (int)Math.floor(y1);
+            int endZ = (int)Math.floor(z1);
+
+            double dx = x1 - x0;
+            double dy = y1 - y0;
+            double dz = z1 - z0;
+
+            stepX = Integer.signum(endX - x);
+            stepY = Integer.signum(endY - y);
+            stepZ = Integer.signum(endZ - z);
+
+            remainingX = Math.abs(endX - x);
+            remainingY = Math.abs(endY - y);
+            remainingZ = Math.abs(endZ - z);
+
+            //t is measured in units of the whole segment, so t = 1 is the end point
+            deltaX = stepX == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+            deltaY = stepY == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+            deltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dz);
+
+            maxX = stepX == 0 ? Double.POSITIVE_INFINITY : (stepX > 0 ? x + 1 - x0 : x0 - x) * deltaX;
+            maxY = stepY == 0 ? Double.POSITIVE_INFINITY : (stepY > 0 ? y + 1 - y0 : y0 - y) * deltaY;
+            maxZ = stepZ == 0 ? Double.POSITIVE_INFINITY : (stepZ > 0 ? z + 1 - z0 : z0 - z) * deltaZ;
+        }
+
+        /**
+         * Moves to the next cell along the segment.
+         * @return false if the current cell already contains the end point
+         */
+        private boolean advance() {
+            boolean canX = remainingX > 0;
+            boolean canY = remainingY > 0;
+            boolean canZ = remainingZ > 0;
+
+            if(canX && (!canY || maxX <= maxY) && (!canZ || maxX <= maxZ)) {
+                x += stepX;
+                maxX += deltaX;
+                remainingX--;
+            }
+            else if(canY && (!canZ || maxY <= maxZ)) {
+                y += stepY;
+                maxY += deltaY;
+                remainingY--;
+            }
+            else if(canZ) {
+                z += stepZ;
+                maxZ += deltaZ;
+                remainingZ--;
+            }
+            else {
+                return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.zap.commons.graph;
+
+import io.github.zap.commons.Disposable;
+import io.github.zap.commons.ObjectDisposedException;
+import io.github.zap.commons.event.Event;
+import io.github.zap.commons.event.EventHandler;
+import org.bukkit.World;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keeps one {@link ChunkGraph} per world, keyed by world UUID. Graphs are created on demand by the supplied factory
+ * and released automatically when their world unloads, so plugins that load a new world for every round do not
+ * accumulate graphs for worlds that no longer exist.
+ *
+ * This class is not thread safe, and is intended to be used from the main server thread (which is also where
+ * {@link WorldUnloadEvent} fires).
+ * @param <T> The type of element stored in each graph
+ */
+public class WorldChunkGraphRegistry<T> implements Disposable {
+    private final Map<UUID, ChunkGraph<T>> graphs = new HashMap<>();
+    private final Function<? super World, ? extends ChunkGraph<T>> graphFactory;
+
+    private final Event<WorldUnloadEvent> worldUnloadEvent;
+    private final EventHandler<WorldUnloadEvent> worldUnloadHandler = (sender, args) -> release(args.getWorld());
+
+    private boolean disposed;
+
+    /**
+     * Creates a new registry, which immediately begins listening for world unloads.
+     * @param plugin The plugin to register the {@link WorldUnloadEvent} listener under
+     * @param graphFactory The function used to create a graph for a world the first time it is requested
+     */
+    public WorldChunkGraphRegistry(@NotNull Plugin plugin,
+                                   @NotNull Function<? super World, ? extends ChunkGraph<T>> graphFactory) {
+        Objects.requireNonNull(plugin, "plugin cannot be null");
+        this.graphFactory = Objects.requireNonNull(graphFactory, "graphFactory cannot be null");
+
+        //MONITOR + ignoreCancelled: only release once no other listener can stop the unload
+        worldUnloadEvent = Event.bukkitProxy(plugin, WorldUnloadEvent.class, EventPriority.MONITOR, true);
+        worldUnloadEvent.addHandler(worldUnloadHandler);
+    }
+
+    /**
+     * Returns the graph for the given world, creating it if it does not exist yet.
+     * @param world The world
+     * @return The graph associated with the world
+     */
+    public @NotNull ChunkGraph<T> graphFor(@NotNull World world) {
+        Objects.requireNonNull(world, "world cannot be null");
+        checkDisposed();
+
+        ChunkGraph<T> graph = graphs.get(world.getUID());
+        if(graph == null) {
+            graph = Objects.requireNonNull(graphFactory.apply(world), "graphFactory cannot return null");
+            graphs.put(world.getUID(), graph);
+        }
+
+        return graph;
+    }
+
+    /**
+     * Returns the graph for the world with the given UUID, without creating one.
+     * @param worldId The UUID of the world
+     * @return The graph associated with the world, or null if there is none
+     */
+    public @Nullable ChunkGraph<T> getGraph(@NotNull UUID worldId) {
+        checkDisposed();
+        return graphs.get(worldId);
+    }
+
+    /**
+     * Returns the graph for the given world, without creating one.
+     * @param world The world
+     * @return The graph associated with the world, or null if there is none
+     */
+    public @Nullable ChunkGraph<T> getGraph(@NotNull World world) {
+        return getGraph(world.getUID());
+    }
+
+    /**
+     * Releases the graph associated with the given world, if any. This is called automatically when the world unloads.
+     * @param world The world
+     * @return The graph that was released, or null if there was none
+     */
+    public @Nullable ChunkGraph<T> release(@NotNull World world) {
+        return release(world.getUID());
+    }
+
+    /**
+     * Releases the graph associated with the world with the given UUID, if any.
+     * @param worldId The UUID of the world
+     * @return The graph that was released, or null if there was none
+     */
+    public @Nullable ChunkGraph<T> release(@NotNull UUID worldId) {
+        checkDisposed();
+        return graphs.remove(worldId);
+    }
+
+    /**
+     * @return The number of graphs currently held by this registry
+     */
+    public int size() {
+        return graphs.size();
+    }
+
+    /**
+     * Releases all graphs and stops listening for world unloads.
+     */
+    @Override
+    public void dispose() {
+        if(disposed) {
+            return;
+        }
+
+        worldUnloadEvent.removeHandler(worldUnloadHandler);
+        graphs.clear();
+        disposed = true;
+    }
+
+    private void checkDisposed() {
+        if(disposed) {
+            throw new ObjectDisposedException();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Nullable;
 import javax.annotation.Nonnull;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -134,6 +135,49 @@ public class ReflectionUtils {
         return result;
     }
 
+    /**
+     * Get all methods annotated with a specified annotation from a class, including those declared by its superclasses
+     * @param target the class to retrieve methods
+     * @param annotation the annotation to look for
+     * @param <T> the type of the annotation
+     * @return A map contains the matching {@link Method}, ordered from the target class up to its superclasses
+     */
+    @NotNull
+    public static <T extends Annotation> Map<Method, T> getAnnotatedMethods(@NotNull Class<?> target, @NotNull Class<T> annotation) {
+        Objects.requireNonNull(target, "target class cannot be null!");
+        Objects.requireNonNull(annotation, "target annotation cannot be null!");
+        Method[] methods = getMethodsUpTo(target, null);
+        LinkedHashMap<Method, T> resultMap = new LinkedHashMap<>();
+
+        for(int i = 0; i < methods.length; i++) {
+            T instance = methods[i].getAnnotation(annotation);
+            if(instance != null) {
+                resultMap.put(methods[i], instance);
+            }
+        }
+
+        return resultMap;
+    }
+
+    /**
+     * get all declared methods from superclass and itself
+     * @param type the class to search
+     * @param exclusiveParent the superclass to search up to
+     * @return a list of methods
+     */
+    public static Method[] getMethodsUpTo(@Nonnull Class<?> type, @Nullable Class<?> exclusiveParent) {
+        Objects.requireNonNull(type, "target type cannot be null!");
+        Method[] result = type.getDeclaredMethods();
+
+        Class<?> parentClass = type.getSuperclass();
+        if (parentClass != null && (!parentClass.equals(exclusiveParent))) {
+            Method[] parentClassMethods = getMethodsUpTo(parentClass, exclusiveParent);
+            result = ObjectArrays.concat(result, parentClassMethods, Method.class);
+        }
+
+        return result;
+    }
+
     /**
      * Get the type parameters of a specified class for a given subclass.
      * Eg. Get Iterator type params of an ArrayList
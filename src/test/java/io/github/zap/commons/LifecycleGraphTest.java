@@ -0,0 +1,113 @@
+package io.github.zap.commons;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LifecycleGraphTest {
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    public void dependenciesRunFirst() throws Exception {
+        LifecycleGraph<Object> graph = new LifecycleGraph<>();
+        List<String> completed = new CopyOnWriteArrayList<>();
+
+        //a and b can only finish if they run at the same time
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        graph.add("c", (sender, args) -> completed.add("c"), "a", "b");
+        graph.add("a", (sender, args) -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            completed.add("a");
+        });
+        graph.add("b", (sender, args) -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            completed.add("b");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            graph.run(this, this, executor, TIMEOUT);
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(3, completed.size());
+        Assertions.assertEquals("c", completed.get(2));
+    }
+
+    @Test
+    public void failureSkipsDependents() {
+        LifecycleGraph<Object> graph = new LifecycleGraph<>();
+        List<String> completed = new CopyOnWriteArrayList<>();
+
+        graph.add("a", (sender, args) -> {
+            throw new IllegalStateException();
+        });
+        graph.add("b", (sender, args) -> completed.add("b"), "a");
+        graph.add("c", (sender, args) -> completed.add("c"));
+
+        LoadFailureException exception = Assertions.assertThrows(LoadFailureException.class,
+                () -> graph.run(this, this, Runnable::run, TIMEOUT));
+        Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(0, exception.getSuppressed().length);
+        Assertions.assertEquals(List.of("c"), completed);
+    }
+
+    @Test
+    public void invalidDependencies() {
+        LifecycleGraph<Object> cycle = new LifecycleGraph<>();
+        cycle.add("a", (sender, args) -> Assertions.fail(), "b");
+        cycle.add("b", (sender, args) -> Assertions.fail(), "a");
+        Assertions.assertThrows(LoadFailureException.class, () -> cycle.run(this, this, Runnable::run, TIMEOUT));
+
+        LifecycleGraph<Object> unknown = new LifecycleGraph<>();
+        unknown.add("a", (sender, args) -> Assertions.fail(), "missing");
+        Assertions.assertThrows(LoadFailureException.class, () -> unknown.run(this, this, Runnable::run, TIMEOUT));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> unknown.add("a", (sender, args) -> {}));
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        LifecycleGraph<Object> graph = new LifecycleGraph<>();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException();
+        graph.add("broken", (sender, args) -> {
+            throw failure;
+        });
+        graph.add("hung", (sender, args) -> await(release));
+
+        //single thread, so the broken handler has finished before the hung one starts
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LoadFailureException exception = Assertions.assertThrows(LoadFailureException.class,
+                    () -> graph.run(this, this, executor, TimeUnit.MILLISECONDS.toNanos(50)));
+            Assertions.assertTrue(exception.getMessage().contains("hung"));
+            Assertions.assertFalse(exception.getMessage().contains("broken"));
+            Assertions.assertArrayEquals(new Throwable[] {failure}, exception.getSuppressed());
+        }
+        finally {
+            release.countDown();
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+        catch (InterruptedException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.zap.commons.event;
+
+import io.github.zap.commons.Disposable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+class AnnotatedHandlersTest {
+    public static class Listener {
+        private final List<String> received = new ArrayList<>();
+
+        @Subscribe(priority = 1)
+        public void onString(String args) {
+            received.add("string " + args);
+        }
+
+        @Subscribe
+        public void onCharSequence(Object sender, CharSequence args) {
+            received.add("chars " + args);
+        }
+
+        @Subscribe
+        public void onInteger(Integer args) {
+            received.add("integer " + args);
+        }
+    }
+
+    private static class PrivateListener {
+        private int count;
+
+        @Subscribe
+        private void onString(String args) {
+            count++;
+        }
+    }
+
+    public static abstract class GenericListener<T> {
+        final List<Object> received = new ArrayList<>();
+
+        public abstract void on(T args);
+    }
+
+    public static class StringListener extends GenericListener<String> {
+        @Subscribe
+        @Override
+        public void on(String args) {
+            received.add(args);
+        }
+    }
+
+    static class IsolatedListener {
+        @Subscribe
+        private void on(StringBuilder args) {
+            args.append("isolated");
+        }
+    }
+
+    //loads IsolatedListener again, so that it belongs to a different class loader than the library
+    private static class IsolatingClassLoader extends ClassLoader {
+        private IsolatingClassLoader() {
+            super(AnnotatedHandlersTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if(!name.equals(IsolatedListener.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+
+            try(InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                byte[] bytes = stream.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+            catch (IOException exception) {
+                throw new ClassNotFoundException(name, exception);
+            }
+        }
+    }
+
+    @Test
+    void bus() {
+        EventBus bus = new EventBus();
+        Listener listener = new Listener();
+        Disposable subscription = AnnotatedHandlers.subscribeAll(bus, listener);
+
+        bus.post(this, "a");
+        bus.post(this, 1);
+        Assertions.assertEquals(List.of("chars a", "string a", "integer 1"), listener.received);
+
+        subscription.dispose();
+        bus.post(this, "b");
+        Assertions.assertEquals(3, listener.received.size());
+    }
+
+    @Test
+    void simpleEvent() {
+        SimpleEvent<String> event = new SimpleEvent<>();
+        Listener listener = new Listener();
+        AnnotatedHandlers.addHandlers(event, String.class, listener);
+
+        Assertions.assertEquals(2, event.handlerCount());
+        event.invoke(this, "a");
+        Assertions.assertEquals(List.of("chars a", "string a"), listener.received);
+    }
+
+    @Test
+    void privateMethods() {
+        EventBus bus = new EventBus();
+        PrivateListener listener = new PrivateListener();
+
+        AnnotatedHandlers.subscribeAll(bus, listener, MethodHandles.lookup());
+        bus.post(this, "a");
+        Assertions.assertEquals(1, listener.count);
+    }
+
+    @Test
+    void genericSuperclass() {
+        EventBus bus = new EventBus();
+        StringListener listener = new StringListener();
+        AnnotatedHandlers.subscribeAll(bus, listener);
+
+        bus.post(this, "a");
+        bus.post(this, 1); //would reach the bridge method, and fail to cast, if it were registered
+        Assertions.assertEquals(List.of("a"), listener.received);
+    }
+
+    @Test
+    void otherClassLoader() throws ReflectiveOperationException {
+        Class<?> type = new IsolatingClassLoader().loadClass(IsolatedListener.class.getName());
+        Assertions.assertNotSame(IsolatedListener.class, type);
+
+        java.lang.reflect.Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        EventBus bus = new EventBus();
+        AnnotatedHandlers.subscribeAll(bus, constructor.newInstance());
+
+        StringBuilder builder = new StringBuilder();
+        bus.post(this, builder);
+        Assertions.assertEquals("isolated", builder.toString());
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.zap.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AsyncEventTest {
+    @Test
+    void completesAfterAllHandlers() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AsyncEvent<Integer> event = new AsyncEvent<>(executor);
+        AtomicInteger sum = new AtomicInteger();
+
+        for(int i = 0; i < 16; i++) {
+            event.addHandler((sender, args) -> sum.addAndGet(args));
+        }
+
+        event.invokeAsync(this, 2).join();
+        Assertions.assertEquals(32, sum.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void aggregatesExceptions() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AsyncEvent<Integer> event = new AsyncEvent<>(executor);
+
+        event.addHandler((sender, args) -> {
+            throw new IllegalStateException("first");
+        });
+        event.addHandler((sender, args) -> {});
+        event.addHandler((sender, args) -> {
+            throw new IllegalArgumentException("second");
+        });
+
+        CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> event.invokeAsync(this, 0).join());
+
+        Assertions.assertTrue(exception.getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(1, exception.getCause().getSuppressed().length);
+        executor.shutdown();
+    }
+
+    @Test
+    void invokeHandlesExceptionsPerTask() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        BlockingQueue<RuntimeException> exceptions = new LinkedBlockingQueue<>();
+        AsyncEvent<Integer> event = new AsyncEvent<>(executor, exceptions::add);
+
+        event.addHandler((sender, args) -> {
+            throw new IllegalStateException();
+        });
+        event.addHandler((sender, args) -> {});
+        event.addHandler((sender, args) -> {
+            throw new IllegalArgumentException();
+        });
+
+        event.invoke(this, 0);
+        Assertions.assertNotNull(exceptions.poll(5, TimeUnit.SECONDS));
+        Assertions.assertNotNull(exceptions.poll(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void rejection() {
+        //runs the first task on the calling thread, and rejects everything after it
+        Executor executor = new Executor() {
+            private int submitted;
+
+            @Override
+            public void execute(Runnable command) {
+                if(submitted++ > 0) {
+                    throw new RejectedExecutionException();
+                }
+
+                command.run();
+            }
+        };
+
+        List<RuntimeException> exceptions = new ArrayList<>();
+        AsyncEvent<Integer> event = new AsyncEvent<>(executor, exceptions::add);
+        AtomicInteger calls = new AtomicInteger();
+        for(int i = 0; i < 3; i++) {
+            event.addHandler((sender, args) -> calls.incrementAndGet());
+        }
+
+        event.invoke(this, 0);
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, exceptions.size());
+        Assertions.assertTrue(exceptions.get(0) instanceof RejectedExecutionException);
+
+        exceptions.clear();
+        AsyncEvent<Integer> rejectAll = new AsyncEvent<>(command -> {
+            throw new RejectedExecutionException();
+        }, exceptions::add);
+        rejectAll.addHandler((sender, args) -> calls.incrementAndGet());
+
+        rejectAll.invokeAsync(this, 0).join();
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, exceptions.size());
+        Assertions.assertTrue(exceptions.get(0) instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.zap.commons.event;
+
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+class BukkitProxyTest {
+    public static class TestEvent extends org.bukkit.event.Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        private final int value;
+
+        private TestEvent(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    public static class OtherEvent extends org.bukkit.event.Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+
+        @Override
+        public @NotNull HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    private final Plugin plugin = newPlugin();
+
+    private static Plugin newPlugin() {
+        return (Plugin)Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class[] {Plugin.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLogger" -> Logger.getAnonymousLogger();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    //runs the GC (and the given action, which may process reference queues) until the reference is cleared
+    private static void collect(WeakReference<?> reference, Runnable action) throws InterruptedException {
+        for(int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            action.run();
+            Thread.sleep(10);
+        }
+    }
+
+    //the plugin is only reachable through the shared proxy registry once this returns
+    private static WeakReference<Plugin> sharedProxyOfNewPlugin() {
+        Plugin plugin = newPlugin();
+        Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, false);
+        return new WeakReference<>(plugin);
+    }
+
+    @Test
+    void preFilter() throws EventException {
+        List<Integer> received = new ArrayList<>();
+        Event<TestEvent> event = Event.bukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, false,
+                testEvent -> testEvent.value % 2 == 0);
+        EventHandler<TestEvent> handler = (sender, args) -> received.add(args.value);
+        event.addHandler(handler);
+
+        RegisteredListener[] listeners = TestEvent.getHandlerList().getRegisteredListeners();
+        Assertions.assertEquals(1, listeners.length);
+        for(int i = 0; i < 4; i++) {
+            listeners[0].callEvent(new TestEvent(i));
+        }
+
+        Assertions.assertEquals(List.of(0, 2), received);
+
+        event.removeHandler(handler);
+        Assertions.assertEquals(0, TestEvent.getHandlerList().getRegisteredListeners().length);
+    }
+
+    @Test
+    void sharedProxySameKey() {
+        Event<TestEvent> first = Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, false);
+        Event<TestEvent> second = Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, false);
+
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    void sharedProxyDifferentKeys() {
+        Event<TestEvent> event = Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, false);
+
+        Assertions.assertNotSame(event, Event.sharedBukkitProxy(newPlugin(), TestEvent.class, EventPriority.NORMAL,
+                false));
+        Assertions.assertNotSame(event, Event.sharedBukkitProxy(plugin, OtherEvent.class, EventPriority.NORMAL, false));
+        Assertions.assertNotSame(event, Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.HIGH, false));
+        Assertions.assertNotSame(event, Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, true));
+    }
+
+    @Test
+    void sharedProxyRecreatedAfterCollection() throws InterruptedException {
+        WeakReference<Event<TestEvent>> collected = new WeakReference<>(Event.sharedBukkitProxy(plugin,
+                TestEvent.class, EventPriority.LOW, false));
+        collect(collected, () -> {});
+        Assertions.assertNull(collected.get());
+
+        Event<TestEvent> recreated = Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.LOW, false);
+        Assertions.assertNotNull(recreated);
+        Assertions.assertSame(recreated, Event.sharedBukkitProxy(plugin, TestEvent.class, EventPriority.LOW, false));
+    }
+
+    @Test
+    void collectedSharedProxyExpungedOnRegistration() throws InterruptedException {
+        WeakReference<Plugin> collectedPlugin = sharedProxyOfNewPlugin();
+
+        //only registration of an unrelated proxy happens here, no shared proxy lookups
+        Event<TestEvent> other = Event.bukkitProxy(plugin, TestEvent.class, EventPriority.NORMAL, false);
+        EventHandler<TestEvent> handler = (sender, args) -> {};
+        collect(collectedPlugin, () -> {
+            other.addHandler(handler);
+            other.removeHandler(handler);
+        });
+
+        Assertions.assertNull(collectedPlugin.get());
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.zap.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CancellableEventTest {
+    private static class Args implements Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    private final CancellableEvent<Args> event = new CancellableEvent<>();
+
+    @Test
+    void cancelStopsDispatch() {
+        List<Integer> order = new ArrayList<>();
+
+        event.addHandler((sender, args) -> order.add(0));
+        event.addHandler((sender, args) -> {
+            order.add(1);
+            args.setCancelled(true);
+        });
+        event.addHandler((sender, args) -> order.add(2));
+        event.invoke(this, new Args());
+
+        Assertions.assertEquals(List.of(0, 1), order);
+    }
+
+    @Test
+    void receivesCancelled() {
+        List<Integer> order = new ArrayList<>();
+
+        EventHandler<Args> uncancel = (sender, args) -> {
+            order.add(1);
+            args.setCancelled(false);
+        };
+
+        event.addHandler((sender, args) -> args.setCancelled(true));
+        event.addHandler((sender, args) -> order.add(0));
+        event.addHandler(uncancel, false);
+        event.addHandler((sender, args) -> order.add(2));
+        event.invoke(this, new Args());
+
+        Assertions.assertEquals(List.of(1, 2), order);
+        Assertions.assertTrue(event.hasHandler(uncancel));
+
+        event.removeHandler(uncancel);
+        Assertions.assertFalse(event.hasHandler(uncancel));
+        Assertions.assertEquals(3, event.handlerCount());
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.zap.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+class CircuitBreakerTest {
+    private final Logger logger = Logger.getAnonymousLogger();
+    private final List<LogRecord> records = new ArrayList<>();
+    private long time;
+    private int calls;
+    private boolean failing = true;
+
+    CircuitBreakerTest() {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+    }
+
+    private final EventHandler<Integer> handler = (sender, args) -> {
+        calls++;
+        if(failing) {
+            throw new IllegalStateException();
+        }
+    };
+
+    @Test
+    void tripsAndRecovers() {
+        CircuitBreaker breaker = new CircuitBreaker(logger, 3, 100, 1000, 50, () -> time);
+        Event<Integer> event = breaker.protect(new SimpleEvent<Integer>(breaker));
+        event.addHandler(handler);
+
+        for(int i = 0; i < 5; i++) {
+            event.invoke(this, 0);
+            time += 10;
+        }
+
+        //tripped on the third failure; the first is logged and the second is rate-limited
+        Assertions.assertEquals(3, calls);
+        Assertions.assertEquals(2, records.size());
+
+        time += 1000;
+        failing = false;
+        event.invoke(this, 0);
+        event.invoke(this, 0);
+        Assertions.assertEquals(5, calls);
+
+        event.removeHandler(handler);
+        Assertions.assertEquals(0, event.handlerCount());
+    }
+
+    @Test
+    void failedTrialTripsImmediately() {
+        CircuitBreaker breaker = new CircuitBreaker(logger, 2, 100, 1000, 0, () -> time);
+        EventHandler<Integer> protectedHandler = breaker.protect(handler);
+
+        protectedHandler.invoke(this, 0);
+        protectedHandler.invoke(this, 0);
+        time += 1000;
+        protectedHandler.invoke(this, 0);
+        protectedHandler.invoke(this, 0);
+        Assertions.assertEquals(3, calls);
+    }
+
+    @Test
+    void windowExpires() {
+        CircuitBreaker breaker = new CircuitBreaker(logger, 2, 100, 1000, 0, () -> time);
+        EventHandler<Integer> protectedHandler = breaker.protect(handler);
+
+        for(int i = 0; i < 4; i++) {
+            protectedHandler.invoke(this, 0);
+            time += 200;
+        }
+
+        Assertions.assertEquals(4, calls);
+    }
+
+    @Test
+    void tripsOnLinkageError() {
+        CircuitBreaker breaker = new CircuitBreaker(logger, 2, 100, 1000, 0, () -> time);
+        Event<Integer> event = breaker.protect(new SimpleEvent<Integer>(breaker));
+        event.addHandler((sender, args) -> {
+            calls++;
+            throw new NoClassDefFoundError("io/github/zap/Unloaded");
+        });
+
+        for(int i = 0; i < 4; i++) {
+            event.invoke(this, 0);
+        }
+
+        Assertions.assertEquals(2, calls);
+        Assertions.assertTrue(records.get(records.size() - 1).getThrown() instanceof NoClassDefFoundError);
+    }
+}
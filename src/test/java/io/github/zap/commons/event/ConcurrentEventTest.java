@@ -0,0 +1,57 @@
+package io.github.zap.commons.event;
+
+import org.apache.commons.lang.mutable.MutableInt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConcurrentEventTest {
+    private final Event<Integer> event = new ConcurrentEvent<>();
+
+    @Test
+    void nestedModification() {
+        MutableInt mutableInt = new MutableInt(0);
+        EventHandler<Integer> removed = (sender, args) -> mutableInt.increment();
+
+        event.addHandler(removed);
+        event.addHandler((sender, args) -> {
+            event.removeHandler(removed);
+            event.addHandler((sender1, args1) -> mutableInt.increment());
+        });
+
+        event.invoke(this, 0);
+        Assertions.assertSame(1, mutableInt.intValue());
+        Assertions.assertSame(2, event.handlerCount());
+    }
+
+    @Test
+    void concurrentAdd() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for(int j = 0; j < 1000; j++) {
+                    event.addHandler((sender, args) -> calls.incrementAndGet());
+                    event.invoke(this, 0);
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(4000, event.handlerCount());
+
+        calls.set(0);
+        event.invoke(this, 0);
+        Assertions.assertEquals(4000, calls.get());
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.zap.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+class EventBusTest {
+    private interface Named {}
+
+    private static class Base {}
+
+    private static class Derived extends Base implements Named {}
+
+    public static class Isolated {}
+
+    //loads Isolated again, so that it belongs to a class loader that can be collected
+    private static class IsolatingClassLoader extends ClassLoader {
+        private IsolatingClassLoader() {
+            super(EventBusTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if(!name.equals(Isolated.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+
+            try(InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                byte[] bytes = stream.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+            catch (IOException exception) {
+                throw new ClassNotFoundException(name, exception);
+            }
+        }
+    }
+
+    private static WeakReference<ClassLoader> postIsolated(EventBus bus) throws ReflectiveOperationException {
+        ClassLoader loader = new IsolatingClassLoader();
+        bus.post(null, loader.loadClass(Isolated.class.getName()).getConstructor().newInstance());
+        return new WeakReference<>(loader);
+    }
+
+    @Test
+    void dispatchesToSupertypes() {
+        EventBus bus = new EventBus();
+        List<String> received = new ArrayList<>();
+
+        bus.subscribe(Derived.class, (sender, args) -> received.add("derived"));
+        bus.subscribe(Object.class, (sender, args) -> received.add("object"));
+        bus.subscribe(Named.class, (sender, args) -> received.add("named"));
+        bus.subscribe(Base.class, (sender, args) -> received.add("base"));
+
+        bus.post(this, new Derived());
+        Assertions.assertEquals(List.of("derived", "object", "named", "base"), received);
+
+        received.clear();
+        bus.post(this, new Base());
+        Assertions.assertEquals(List.of("object", "base"), received);
+        Assertions.assertTrue(bus.hasSubscribers(String.class));
+    }
+
+    @Test
+    void subscriptionInvalidatesCache() {
+        EventBus bus = new EventBus();
+        List<String> received = new ArrayList<>();
+        EventHandler<Base> handler = (sender, args) -> received.add("base");
+
+        bus.post(this, new Derived());
+        Assertions.assertFalse(bus.hasSubscribers(Derived.class));
+
+        bus.subscribe(Base.class, handler);
+        Assertions.assertTrue(bus.hasSubscribers(Derived.class));
+        bus.post(this, new Derived());
+        Assertions.assertEquals(List.of("base"), received);
+
+        bus.unsubscribe(Base.class, handler);
+        Assertions.assertFalse(bus.hasSubscribers(Derived.class));
+        Assertions.assertFalse(bus.hasSubscribers(Base.class));
+    }
+
+    @Test
+    void subscribeDuringPost() {
+        EventBus bus = new EventBus();
+        List<String> received = new ArrayList<>();
+
+        bus.subscribe(Base.class, (sender, args) -> {
+            received.add("first");
+            bus.subscribe(Base.class, (sender1, args1) -> received.add("second"));
+        });
+
+        bus.post(this, new Base());
+        Assertions.assertEquals(List.of("first"), received);
+    }
+
+    @Test
+    void cacheDoesNotPinPostedClasses() throws ReflectiveOperationException, InterruptedException {
+        EventBus bus = new EventBus();
+        List<Object> received = new ArrayList<>();
+        bus.subscribe(Object.class, (sender, args) -> received.add(args));
+
+        WeakReference<ClassLoader> loader = postIsolated(bus);
+        Assertions.assertEquals(1, received.size());
+        received.clear();
+
+        for(int i = 0; i < 100 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertNull(loader.get());
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+class EventJournalTest {
+    private static final EventSerializer<String> SERIALIZER = new EventSerializer<>() {
+        @Override
+        public void write(@NotNull DataOutput output, String args) throws IOException {
+            output.writeUTF(args);
+        }
+
+        @Override
+        public String read(@NotNull DataInput input) throws IOException {
+            return input.readUTF();
+        }
+    };
+
+    private long time;
+
+    @Test
+    void ringBufferKeepsNewest() {
+        EventJournal<String> journal = new EventJournal<>(SERIALIZER, 3, () -> time++);
+        Event<String> event = new SimpleEvent<String>().recordTo(journal);
+
+        for(int i = 0; i < 5; i++) {
+            event.invoke(this, "args" + i);
+        }
+
+        List<EventJournal.Entry<String>> entries = journal.entries();
+        Assertions.assertEquals(3, entries.size());
+        Assertions.assertEquals("args2", entries.get(0).args());
+        Assertions.assertEquals("args4", entries.get(2).args());
+        Assertions.assertEquals(2, entries.get(0).nanos());
+        Assertions.assertEquals(EventJournalTest.class.getName(), entries.get(0).senderClass());
+    }
+
+    @Test
+    void roundTripAndReplay() throws IOException {
+        EventJournal<String> journal = new EventJournal<>(SERIALIZER, 8, () -> time += 1000);
+        journal.record(this, "a");
+        journal.record(null, "b");
+        journal.record("sender", "c");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        journal.writeTo(output);
+        EventJournal<String> read = EventJournal.readFrom(new ByteArrayInputStream(output.toByteArray()), SERIALIZER,
+                2);
+
+        Assertions.assertEquals(2, read.size());
+        Assertions.assertNull(read.entries().get(0).senderClass());
+        Assertions.assertEquals(String.class.getName(), read.entries().get(1).senderClass());
+
+        Event<String> target = new SimpleEvent<>();
+        List<String> received = new ArrayList<>();
+        target.addHandler((sender, args) -> received.add(args));
+
+        Assertions.assertTrue(read.replay(target, 1) >= 1000);
+        Assertions.assertEquals(List.of("b", "c"), received);
+    }
+
+    @Test
+    void recordingFailureDoesNotBlockDispatch() {
+        EventJournal<String> journal = new EventJournal<>(new EventSerializer<>() {
+            @Override
+            public void write(@NotNull DataOutput output, String args) throws IOException {
+                if(args.isEmpty()) {
+                    throw new IOException();
+                }
+
+                output.writeUTF(args);
+            }
+
+            @Override
+            public String read(@NotNull DataInput input) throws IOException {
+                return input.readUTF();
+            }
+        }, 4, () -> time++);
+
+        List<String> received = new ArrayList<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        Event<String> source = new SimpleEvent<>();
+        source.addHandler((sender, args) -> received.add(args));
+        Event<String> event = source.recordTo(journal, failures::add);
+
+        event.invoke(this, "a");
+        event.invoke(this, "");
+        event.invoke(this, "b");
+
+        Assertions.assertEquals(List.of("a", "", "b"), received);
+        Assertions.assertEquals(1, failures.size());
+        Assertions.assertTrue(failures.get(0) instanceof UncheckedIOException);
+        Assertions.assertEquals(1, journal.dropped());
+        Assertions.assertEquals(2, journal.size());
+        Assertions.assertEquals("b", journal.entries().get(1).args());
+    }
+
+    private interface Body {
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    //the magic number and version of a valid journal, followed by the given body
+    private static InputStream journalWith(Body body) throws IOException {
+        ByteArrayOutputStream valid = new ByteArrayOutputStream();
+        new EventJournal<>(SERIALIZER, 1).writeTo(valid);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(valid.toByteArray(), 0, 8);
+        DataOutputStream data = new DataOutputStream(output);
+        body.write(data);
+        data.flush();
+        return new ByteArrayInputStream(output.toByteArray());
+    }
+
+    private static void assertCorrupt(Body body) {
+        Assertions.assertThrows(IOException.class, () -> EventJournal.readFrom(journalWith(body), SERIALIZER, 8));
+    }
+
+    @Test
+    void corruptInput() throws IOException {
+        EventJournal<String> journal = new EventJournal<>(SERIALIZER, 8, () -> time++);
+        journal.record(this, "a");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        journal.writeTo(output);
+        byte[] bytes = output.toByteArray();
+
+        for(int length = 0; length < bytes.length; length++) {
+            ByteArrayInputStream truncated = new ByteArrayInputStream(bytes, 0, length);
+            Assertions.assertThrows(IOException.class, () -> EventJournal.readFrom(truncated, SERIALIZER, 8));
+        }
+
+        assertCorrupt(data -> data.writeInt(-1)); //class count
+        assertCorrupt(data -> data.writeInt(Integer.MAX_VALUE));
+        assertCorrupt(data -> {
+            data.writeInt(0);
+            data.writeInt(-1); //entry count
+        });
+        assertCorrupt(data -> {
+            data.writeInt(1);
+            data.writeUTF("sender");
+            data.writeInt(1);
+            data.writeLong(0);
+            data.writeInt(1); //class index
+            data.writeInt(0);
+        });
+        assertCorrupt(data -> {
+            data.writeInt(0);
+            data.writeInt(1);
+            data.writeLong(0);
+            data.writeInt(-2);
+            data.writeInt(0);
+        });
+        assertCorrupt(data -> {
+            data.writeInt(0);
+            data.writeInt(1);
+            data.writeLong(0);
+            data.writeInt(-1);
+            data.writeInt(-1); //payload length
+        });
+        assertCorrupt(data -> {
+            data.writeInt(0);
+            data.writeInt(1);
+            data.writeLong(0);
+            data.writeInt(-1);
+            data.writeInt(Integer.MAX_VALUE);
+        });
+    }
+}
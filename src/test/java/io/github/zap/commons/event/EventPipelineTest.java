@@ -0,0 +1,76 @@
+package io.github.zap.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class EventPipelineTest {
+    @Test
+    void stagesRunInOrder() {
+        Event<Integer> source = new SimpleEvent<>();
+        Event<Integer> linked = new SimpleEvent<>();
+        Event<String> mapped = new SimpleEvent<>();
+        List<Object> received = new ArrayList<>();
+        linked.addHandler((sender, args) -> received.add(args));
+        mapped.addHandler((sender, args) -> received.add(args));
+
+        EventPipeline.<Integer>start()
+                .filter(args -> args > 0)
+                .to(linked)
+                .map(args -> "#" + args)
+                .to(mapped)
+                .attachTo(source);
+
+        source.invoke(this, -1);
+        source.invoke(this, 1);
+        Assertions.assertEquals(List.of(1, "#1"), received);
+    }
+
+    @Test
+    void skipsMappingWithoutHandlers() {
+        Event<Integer> source = new SimpleEvent<>();
+        Event<String> mapped = new SimpleEvent<>();
+        List<Integer> mappedValues = new ArrayList<>();
+
+        EventPipeline.<Integer>start()
+                .map(args -> {
+                    mappedValues.add(args);
+                    return "#" + args;
+                })
+                .to(mapped)
+                .attachTo(source);
+
+        source.invoke(this, 1);
+        Assertions.assertTrue(mappedValues.isEmpty());
+
+        mapped.addHandler((sender, args) -> {});
+        source.invoke(this, 2);
+        Assertions.assertEquals(List.of(2), mappedValues);
+    }
+
+    @Test
+    void mapsForLinkedTarget() {
+        Event<Integer> source = new SimpleEvent<>();
+        Event<String> downstream = new SimpleEvent<>();
+        List<String> received = new ArrayList<>();
+        downstream.addHandler((sender, args) -> received.add(args));
+
+        //the linked wrapper has no handlers of its own, but passes every value on to the downstream event
+        Event<String> linked = new SimpleEvent<String>().linkTo(downstream);
+        EventPipeline.<Integer>start()
+                .map(args -> "#" + args)
+                .to(linked)
+                .attachTo(source);
+
+        source.invoke(this, 1);
+        Assertions.assertEquals(List.of("#1"), received);
+    }
+
+    @Test
+    void requiresTarget() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventPipeline.<Integer>start()
+                .filter(args -> true).compile());
+    }
+}
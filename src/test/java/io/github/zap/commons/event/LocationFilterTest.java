@@ -0,0 +1,72 @@
+package io.github.zap.commons.event;
+
+import io.github.zap.commons.vectors.Bounds;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.function.Function;
+
+class LocationFilterTest {
+    private static World world(UUID uid) {
+        return (World)Proxy.newProxyInstance(World.class.getClassLoader(), new Class[] {World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUID" -> uid;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private final World world = world(UUID.randomUUID());
+
+    private Location at(double x, double z) {
+        return new Location(world, x, 64, z);
+    }
+
+    @Test
+    void negativeChunkBoundaries() {
+        //exactly chunk (-1, -1); the fractional minimum still rounds down into it
+        LocationFilter<Location> filter = LocationFilter.of(Function.<Location>identity())
+                .inRegions(new Bounds(-15.5, 0, -16, -1, 255, -0.5));
+
+        Assertions.assertTrue(filter.test(at(-0.5, -0.5))); //block -1, not 0
+        Assertions.assertTrue(filter.test(at(-16, -16)));
+        Assertions.assertFalse(filter.test(at(-16.5, -1))); //block -17, chunk -2
+        Assertions.assertFalse(filter.test(at(0, -1)));
+        Assertions.assertFalse(filter.test(at(-1, 0)));
+    }
+
+    @Test
+    void multipleRegions() {
+        LocationFilter<Location> filter = LocationFilter.of(Function.<Location>identity())
+                .inRegions(new Bounds(0, 0, 0, 10, 10, 10), new Bounds(100, 0, 100, 120, 10, 140));
+
+        Assertions.assertTrue(filter.test(at(15, 15))); //same chunk as the first region
+        Assertions.assertTrue(filter.test(at(127, 143)));
+        Assertions.assertFalse(filter.test(at(50, 50)));
+        Assertions.assertFalse(filter.test(at(128, 100)));
+    }
+
+    @Test
+    void worlds() {
+        LocationFilter<Location> filter = LocationFilter.of(Function.<Location>identity()).inWorlds(world.getUID());
+
+        Assertions.assertTrue(filter.test(at(1000, -1000)));
+        Assertions.assertFalse(filter.test(new Location(world(UUID.randomUUID()), 0, 0, 0)));
+        Assertions.assertFalse(filter.test(new Location(null, 0, 0, 0)));
+
+        //regions without worlds match any world
+        Assertions.assertTrue(LocationFilter.of(Function.<Location>identity()).inRegions(new Bounds(0, 0, 0, 1, 1, 1))
+                .test(new Location(null, 0, 0, 0)));
+    }
+
+    @Test
+    void nullLocation() {
+        LocationFilter<Location> filter = LocationFilter.of(location -> null);
+        Assertions.assertFalse(filter.test(at(0, 0)));
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class MainThreadDispatcherTest {
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final TickScheduler scheduler = new TickScheduler() {
+        @Override
+        public long currentTick() {
+            return 0;
+        }
+
+        @Override
+        public void runLater(@NotNull Runnable task, long delayTicks) {
+            tasks.add(task);
+        }
+    };
+
+    private void tick() {
+        int count = tasks.size();
+        for(int i = 0; i < count; i++) {
+            tasks.remove().run();
+        }
+    }
+
+    @Test
+    void singleTaskForManyInvocations() throws InterruptedException {
+        MainThreadDispatcher dispatcher = new MainThreadDispatcher(scheduler, Long.MAX_VALUE / 2,
+                ExceptionHandlers.rethrow());
+        Event<Integer> event = new SimpleEvent<>();
+        List<Integer> received = new ArrayList<>();
+        event.addHandler((sender, args) -> received.add(args));
+        Event<Integer> mainThread = dispatcher.mainThread(event);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for(int i = 0; i < 1000; i++) {
+            int value = i;
+            executor.execute(() -> mainThread.invoke(this, value));
+        }
+
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, tasks.size());
+
+        tick();
+        Assertions.assertEquals(1000, received.size());
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void carriesOverPastBudget() {
+        MainThreadDispatcher dispatcher = new MainThreadDispatcher(scheduler, 1, exception -> {});
+        Event<Integer> event = new SimpleEvent<>();
+        List<Integer> received = new ArrayList<>();
+        event.addHandler((sender, args) -> {
+            received.add(args);
+            if(args == 0) {
+                throw new IllegalStateException();
+            }
+        });
+
+        for(int i = 0; i < 3; i++) {
+            dispatcher.dispatch(event, this, i);
+        }
+
+        tick();
+        Assertions.assertEquals(List.of(0), received);
+        Assertions.assertEquals(2, dispatcher.pending());
+
+        tick();
+        tick();
+        Assertions.assertEquals(List.of(0, 1, 2), received);
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void recoversFromRethrownException() {
+        MainThreadDispatcher dispatcher = new MainThreadDispatcher(scheduler, Long.MAX_VALUE / 2,
+                ExceptionHandlers.rethrow());
+        Event<Integer> event = new SimpleEvent<>();
+        List<Integer> received = new ArrayList<>();
+        event.addHandler((sender, args) -> {
+            received.add(args);
+            if(args == 0) {
+                throw new IllegalStateException();
+            }
+        });
+
+        dispatcher.dispatch(event, this, 0);
+        dispatcher.dispatch(event, this, 1);
+
+        Assertions.assertThrows(IllegalStateException.class, this::tick);
+        Assertions.assertEquals(List.of(0), received);
+        Assertions.assertEquals(1, tasks.size());
+
+        tick();
+        dispatcher.dispatch(event, this, 2);
+        tick();
+        Assertions.assertEquals(List.of(0, 1, 2), received);
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.zap.commons.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PartitionedEventTest {
+    @Test
+    void routesByKey() {
+        Event<String> source = new SimpleEvent<>();
+        PartitionedEvent<String, Character> partitioned = source.partitionBy(args -> args.charAt(0));
+        List<String> a = new ArrayList<>();
+        List<String> b = new ArrayList<>();
+
+        partitioned.partition('a').addHandler((sender, args) -> a.add(args));
+        partitioned.partition('b').addHandler((sender, args) -> b.add(args));
+        Assertions.assertEquals(1, source.handlerCount());
+
+        source.invoke(this, "a1");
+        source.invoke(this, "b1");
+        source.invoke(this, "c1");
+        source.invoke(this, "a2");
+
+        Assertions.assertEquals(List.of("a1", "a2"), a);
+        Assertions.assertEquals(List.of("b1"), b);
+    }
+
+    @Test
+    void dropsEmptyPartitions() {
+        Event<String> source = new SimpleEvent<>();
+        PartitionedEvent<String, Character> partitioned = source.partitionBy(args -> args.charAt(0));
+        EventHandler<String> handler = (sender, args) -> {};
+
+        partitioned.partition('a').addHandler(handler);
+        partitioned.partition('b').addHandler(handler);
+        Assertions.assertEquals(2, partitioned.partitionCount());
+
+        partitioned.partition('a').removeHandler(handler);
+        Assertions.assertEquals(1, partitioned.partitionCount());
+        Assertions.assertEquals(1, source.handlerCount());
+
+        partitioned.partition('b').clearHandlers();
+        Assertions.assertEquals(0, partitioned.partitionCount());
+        Assertions.assertEquals(0, source.handlerCount());
+    }
+
+    @Test
+    void lookupDoesNotStore() {
+        Event<String> source = new SimpleEvent<>();
+        PartitionedEvent<String, Character> partitioned = source.partitionBy(args -> args.charAt(0));
+
+        for(char key = 'a'; key <= 'z'; key++) {
+            partitioned.partition(key);
+        }
+
+        Assertions.assertEquals(0, partitioned.partitionCount());
+        Assertions.assertEquals(0, source.handlerCount());
+    }
+
+    @Test
+    void reusedStalePartition() {
+        Event<String> source = new SimpleEvent<>();
+        PartitionedEvent<String, Character> partitioned = source.partitionBy(args -> args.charAt(0));
+        List<String> stale = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        EventHandler<String> staleHandler = (sender, args) -> stale.add(args);
+
+        Event<String> held = partitioned.partition('a');
+        held.addHandler(staleHandler);
+        held.removeHandler(staleHandler);
+
+        partitioned.partition('a').addHandler((sender, args) -> current.add(args));
+        held.addHandler(staleHandler);
+        Assertions.assertEquals(1, partitioned.partitionCount());
+
+        source.invoke(this, "a1");
+        Assertions.assertEquals(List.of("a1"), stale);
+        Assertions.assertEquals(List.of("a1"), current);
+
+        held.removeHandler(staleHandler);
+        source.invoke(this, "a2");
+        Assertions.assertEquals(List.of("a1"), stale);
+        Assertions.assertEquals(List.of("a1", "a2"), current);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+class RateLimitedEventTest {
+    private final TickScheduler scheduler = new TickScheduler() {
+        @Override
+        public long currentTick() {
+            return tick;
+        }
+
+        @Override
+        public void runLater(@NotNull Runnable task, long delayTicks) {
+            tasks.computeIfAbsent(tick + delayTicks, key -> new ArrayList<>()).add(task);
+        }
+    };
+
+    private final TreeMap<Long, List<Runnable>> tasks = new TreeMap<>();
+    private final List<Integer> received = new ArrayList<>();
+    private long tick;
+
+    private void advance(long ticks) {
+        for(long i = 0; i < ticks; i++) {
+            tick++;
+
+            Iterator<Map.Entry<Long, List<Runnable>>> iterator = tasks.headMap(tick, true).entrySet().iterator();
+            List<Runnable> due = new ArrayList<>();
+            while(iterator.hasNext()) {
+                due.addAll(iterator.next().getValue());
+                iterator.remove();
+            }
+
+            due.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    void throttle() {
+        Event<Integer> event = new SimpleEvent<>();
+        event.addHandler((sender, args) -> received.add(args));
+        Event<Integer> throttled = event.throttle(scheduler, 5);
+
+        throttled.invoke(this, 1);
+        throttled.invoke(this, 2);
+        throttled.invoke(this, 3);
+        Assertions.assertEquals(List.of(1), received);
+
+        advance(5);
+        Assertions.assertEquals(List.of(1, 3), received);
+
+        advance(5);
+        throttled.invoke(this, 4);
+        Assertions.assertEquals(List.of(1, 3, 4), received);
+    }
+
+    @Test
+    void debounce() {
+        Event<Integer> event = new SimpleEvent<>();
+        event.addHandler((sender, args) -> received.add(args));
+        Event<Integer> debounced = event.debounce(scheduler, 3);
+
+        debounced.invoke(this, 1);
+        advance(2);
+        debounced.invoke(this, 2);
+        advance(2);
+        Assertions.assertTrue(received.isEmpty());
+
+        advance(1);
+        Assertions.assertEquals(List.of(2), received);
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+}
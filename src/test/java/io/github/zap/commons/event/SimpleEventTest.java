@@ -4,6 +4,10 @@ import org.apache.commons.lang.mutable.MutableInt;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 class SimpleEventTest {
     private final ExceptionHandler handler = exception -> {
         throw exception;
@@ -159,4 +163,146 @@ class SimpleEventTest {
 
         Assertions.assertTrue(simpleEvent.hasHandler(handler));
     }
-}
\ No newline at end of file
+
+    @Test
+    void priorityOrder() {
+        SimpleEvent<Integer> event = new SimpleEvent<>(handler, 2);
+        List<Integer> order = new ArrayList<>();
+
+        event.addHandler((sender, args) -> order.add(0));
+        event.addHandler((sender, args) -> order.add(1), 10);
+        event.addHandler((sender, args) -> order.add(2), -10);
+        event.addHandler((sender, args) -> order.add(3));
+        event.addHandler((sender, args) -> order.add(4), 10);
+        event.invoke(this, 0);
+
+        Assertions.assertEquals(List.of(2, 0, 3, 1, 4), order);
+    }
+
+    @Test
+    void nestedPriorityRegistration() {
+        SimpleEvent<Integer> event = new SimpleEvent<>(handler);
+        List<Integer> order = new ArrayList<>();
+
+        EventHandler<Integer> removed = (sender, args) -> order.add(1);
+        event.addHandler(removed, 5);
+        event.addHandler((sender, args) -> {
+            order.add(0);
+            event.removeHandler(removed);
+            event.addHandler((sender1, args1) -> order.add(2), -5);
+        }, 1);
+        event.invoke(this, 0);
+
+        Assertions.assertEquals(List.of(0, 1), order);
+
+        order.clear();
+        event.invoke(this, 0);
+        Assertions.assertEquals(List.of(2, 0), order);
+    }
+
+    @Test
+    void weakHandlers() {
+        SimpleEvent<Integer> event = new SimpleEvent<>(handler);
+        List<Integer> calls = new ArrayList<>();
+
+        EventHandler<Integer> first = (sender, args) -> calls.add(0);
+        EventHandler<Integer> second = (sender, args) -> calls.add(1);
+        WeakHandler<Integer> firstWeak = new WeakHandler<>(event, first);
+        WeakHandler<Integer> secondWeak = new WeakHandler<>(event, second);
+        event.addHandler(firstWeak);
+        event.addHandler(secondWeak);
+        event.addWeakHandler(first);
+        Assertions.assertTrue(event.hasHandler(second));
+
+        //simulate collection of both handlers
+        firstWeak.clear();
+        secondWeak.clear();
+        Assertions.assertFalse(event.hasHandler(second));
+
+        event.invoke(this, 0);
+        Assertions.assertEquals(List.of(0), calls);
+        Assertions.assertEquals(1, event.handlerCount());
+
+        event.removeHandler(first);
+        Assertions.assertEquals(0, event.handlerCount());
+    }
+
+    @Test
+    void handlerMetrics() {
+        long[] time = {0};
+        HandlerMetrics metrics = new HandlerMetrics(() -> time[0]);
+        SimpleEvent<Integer> event = new SimpleEvent<>(exception -> {}, 8, metrics, "test");
+
+        //handlers advance the clock instead of taking real time, so the measured durations are exact
+        EventHandler<Integer> slow = (sender, args) -> time[0] += 5_000_000L;
+        event.addHandler((sender, args) -> time[0]++);
+        event.addHandler(slow);
+        event.addHandler((sender, args) -> {
+            time[0] += 2;
+            throw new IllegalStateException();
+        });
+
+        event.invoke(this, 0);
+        event.invoke(this, 0);
+
+        List<HandlerMetrics.HandlerStats> stats = metrics.snapshot();
+        Assertions.assertEquals(3, stats.size());
+        for(HandlerMetrics.HandlerStats handlerStats : stats) {
+            Assertions.assertEquals("test", handlerStats.event());
+            Assertions.assertEquals(2, handlerStats.invocations());
+        }
+
+        List<HandlerMetrics.HandlerStats> slowest = metrics.slowest(1);
+        Assertions.assertEquals(slow.toString(), slowest.get(0).handler());
+        Assertions.assertEquals(5_000_000L, slowest.get(0).maxNanos());
+        Assertions.assertEquals(10_000_000L, slowest.get(0).totalNanos());
+        Assertions.assertEquals(2, metrics.top(1, Comparator.comparingLong(HandlerMetrics.HandlerStats::exceptions)
+                .reversed()).get(0).exceptions());
+
+        event.removeHandler(slow);
+        Assertions.assertEquals(2, metrics.snapshot().size());
+
+        metrics.reset();
+        Assertions.assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void nestedRecursion() {
+        SimpleEvent<Integer> event = new SimpleEvent<>(handler);
+        List<Integer> calls = new ArrayList<>();
+        event.addHandler((sender, args) -> {
+            calls.add(args);
+            if(args < 5) {
+                event.invoke(this, args + 1);
+            }
+        });
+
+        Assertions.assertThrows(IllegalStateException.class, () -> event.invoke(this, 0));
+
+        event.setRecursionPolicy(SimpleEvent.RecursionPolicy.nested(3));
+        calls.clear();
+        event.invoke(this, 2);
+        Assertions.assertEquals(List.of(2, 3, 4, 5), calls);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> event.invoke(this, 0));
+    }
+
+    @Test
+    void queuedRecursion() {
+        SimpleEvent<Integer> event = new SimpleEvent<>(handler);
+        event.setRecursionPolicy(SimpleEvent.RecursionPolicy.QUEUE);
+        List<Integer> calls = new ArrayList<>();
+
+        event.addHandler((sender, args) -> {
+            calls.add(args);
+            if(args < 10_000) {
+                event.invoke(this, args + 1);
+                calls.add(-args);
+            }
+        });
+
+        event.invoke(this, 0);
+        Assertions.assertEquals(20_001, calls.size());
+        Assertions.assertEquals(List.of(0, 0, 1, -1, 2), calls.subList(0, 5));
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.zap.commons.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+class TickCoalescingEventTest {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final TickScheduler scheduler = new TickScheduler() {
+        @Override
+        public long currentTick() {
+            return 0;
+        }
+
+        @Override
+        public void runLater(@NotNull Runnable task, long delayTicks) {
+            Assertions.assertEquals(1, delayTicks);
+            tasks.add(task);
+        }
+    };
+
+    private void tick() {
+        int count = tasks.size();
+        for(int i = 0; i < count; i++) {
+            tasks.remove().run();
+        }
+    }
+
+    @Test
+    void batchesPerTick() {
+        Event<Integer> source = new SimpleEvent<>();
+        BatchingEvent<Integer> batching = new BatchingEvent<>(source, scheduler);
+        List<List<Integer>> batches = new ArrayList<>();
+
+        source.invoke(this, 0);
+        Assertions.assertTrue(tasks.isEmpty()); //not listening without handlers
+
+        batching.addHandler((sender, args) -> batches.add(new ArrayList<>(args)));
+        source.invoke(this, 1);
+        source.invoke(this, 2);
+        source.invoke(this, 3);
+        Assertions.assertEquals(1, tasks.size());
+
+        tick();
+        tick();
+        Assertions.assertEquals(List.of(List.of(1, 2, 3)), batches);
+
+        batching.clearHandlers();
+        Assertions.assertEquals(0, source.handlerCount());
+    }
+
+    @Test
+    void submitDuringFlush() {
+        BatchingEvent<Integer> batching = new BatchingEvent<>(null, scheduler);
+        List<List<Integer>> batches = new ArrayList<>();
+
+        batching.addHandler((sender, args) -> {
+            batches.add(new ArrayList<>(args));
+            if(args.get(0) == 1) {
+                batching.submit(this, 2);
+            }
+        });
+
+        batching.submit(this, 1);
+        tick();
+        Assertions.assertEquals(List.of(List.of(1)), batches);
+        tick();
+        Assertions.assertEquals(List.of(List.of(1), List.of(2)), batches);
+    }
+
+    @Test
+    void latestPerKey() {
+        Event<String> source = new SimpleEvent<>();
+        KeyedCoalescingEvent<String, Character> coalescing = new KeyedCoalescingEvent<>(source, scheduler,
+                args -> args.charAt(0));
+        List<String> received = new ArrayList<>();
+        coalescing.addHandler((sender, args) -> received.add(args));
+
+        source.invoke(this, "a1");
+        source.invoke(this, "b1");
+        source.invoke(this, "a2");
+        tick();
+
+        Assertions.assertEquals(List.of("a2", "b1"), received);
+    }
+
+    @Test
+    void keyedFlushContinuesAfterException() {
+        KeyedCoalescingEvent<String, Character> coalescing = new KeyedCoalescingEvent<>(null, scheduler,
+                args -> args.charAt(0));
+        List<String> received = new ArrayList<>();
+        coalescing.addHandler((sender, args) -> {
+            received.add(args);
+            if(args.startsWith("a")) {
+                throw new IllegalStateException();
+            }
+        });
+
+        coalescing.submit(this, "a1");
+        coalescing.submit(this, "b1");
+        coalescing.submit(this, "c1");
+        Assertions.assertThrows(IllegalStateException.class, this::tick);
+        Assertions.assertEquals(List.of("a1", "b1", "c1"), received);
+
+        coalescing.submit(this, "b2");
+        tick();
+        Assertions.assertEquals(List.of("a1", "b1", "c1", "b2"), received);
+    }
+
+    @Test
+    void schedulingFailureDoesNotStopFlushes() {
+        boolean[] reject = {true};
+        BatchingEvent<Integer> batching = new BatchingEvent<>(null, new TickScheduler() {
+            @Override
+            public long currentTick() {
+                return 0;
+            }
+
+            @Override
+            public void runLater(@NotNull Runnable task, long delayTicks) {
+                if(reject[0]) {
+                    throw new IllegalStateException();
+                }
+
+                tasks.add(task);
+            }
+        });
+        List<List<Integer>> batches = new ArrayList<>();
+        batching.addHandler((sender, args) -> batches.add(new ArrayList<>(args)));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> batching.submit(this, 1));
+
+        reject[0] = false;
+        batching.submit(this, 2);
+        Assertions.assertEquals(1, tasks.size());
+        tick();
+        Assertions.assertEquals(List.of(List.of(1, 2)), batches);
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 public class ArrayChunkGraphTest {
@@ -68,4 +69,54 @@ public class ArrayChunkGraphTest {
 
         Assertions.assertEquals(expectedSize, actualSize);
     }
+
+    @Test
+    public void testRemove() {
+        int expectedSize = graph.size();
+
+        Assertions.assertTrue(graph.removeElement(0, 0, 0));
+        Assertions.assertFalse(graph.removeElement(0, 0, 0));
+        Assertions.assertFalse(graph.hasElementAt(0, 0, 0));
+        Assertions.assertEquals(expectedSize - 1, graph.size());
+
+        graph.putElement(0, 0, 0, Vector3I.ZERO);
+        Assertions.assertSame(Vector3I.ZERO, graph.elementAt(0, 0, 0));
+        Assertions.assertEquals(expectedSize, graph.size());
+    }
+
+    @Test
+    public void testReplace() {
+        Vector3I replacement = Vectors.of(1, 1, 1);
+        int expectedSize = graph.size();
+
+        graph.putElement(1, 1, 1, replacement);
+        Assertions.assertSame(replacement, graph.elementAt(1, 1, 1));
+        Assertions.assertEquals(expectedSize, graph.size());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Iterator<Vector3I> iterator = graph.iterator();
+        while(iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        Assertions.assertEquals(0, graph.size());
+        for(Vector3I vector : vectorsAdded) {
+            Assertions.assertFalse(graph.hasElementAt(vector));
+        }
+    }
+
+    @Test
+    public void testFootprint() {
+        ArrayChunkGraph.Footprint footprint = graph.footprint();
+
+        //x and z in [-30, 30) span 4x4 chunks, each with 4 segments (y < 64)
+        Assertions.assertEquals(16, footprint.chunks());
+        Assertions.assertEquals(16 * 4, footprint.segments());
+        Assertions.assertEquals(16 * 60, footprint.layers());
+        Assertions.assertEquals(4 * 60 * 60, footprint.rows());
+        Assertions.assertTrue(footprint.estimatedBytes() > 0);
+    }
 }
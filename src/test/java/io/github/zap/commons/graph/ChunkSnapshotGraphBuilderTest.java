@@ -0,0 +1,213 @@
+package io.github.zap.commons.graph;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+
+public class ChunkSnapshotGraphBuilderTest {
+    /**
+     * Snapshot backed by an array of materials: stone up to a per-column ground height, air above.
+     */
+    private static class FakeChunkSnapshot implements ChunkSnapshot {
+        private final int chunkX;
+        private final int chunkZ;
+        private final IntBinaryOperator groundLevel;
+        private final Material[] blocks = new Material[16 * 256 * 16];
+
+        private FakeChunkSnapshot(int chunkX, int chunkZ, IntBinaryOperator groundLevel) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.groundLevel = groundLevel;
+
+            for(int x = 0; x < 16; x++) {
+                for(int z = 0; z < 16; z++) {
+                    int ground = groundLevel.applyAsInt((chunkX << 4) + x, (chunkZ << 4) + z);
+                    for(int y = 0; y < 256; y++) {
+                        blocks[index(x, y, z)] = y < ground ? Material.STONE : Material.AIR;
+                    }
+                }
+            }
+        }
+
+        private static int index(int x, int y, int z) {
+            return (y << 8) | (x << 4) | z;
+        }
+
+        @Override
+        public int getX() {
+            return chunkX;
+        }
+
+        @Override
+        public int getZ() {
+            return chunkZ;
+        }
+
+        @Override
+        public @NotNull String getWorldName() {
+            return "fake";
+        }
+
+        @Override
+        public @NotNull Material getBlockType(int x, int y, int z) {
+            return blocks[index(x, y, z)];
+        }
+
+        @Override
+        public @NotNull BlockData getBlockData(int x, int y, int z) {
+            Material material = getBlockType(x, y, z);
+            return (BlockData)Proxy.newProxyInstance(BlockData.class.getClassLoader(), new Class[] {BlockData.class},
+                    (proxy, method, args) -> method.getName().equals("getMaterial") ? material : null);
+        }
+
+        @Override
+        public int getData(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getBlockSkyLight(int x, int y, int z) {
+            return getBlockType(x, y, z).isAir() ? 15 : 0;
+        }
+
+        @Override
+        public int getBlockEmittedLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getHighestBlockYAt(int x, int z) {
+            return groundLevel.applyAsInt((chunkX << 4) + x, (chunkZ << 4) + z) - 1;
+        }
+
+        @Override
+        public @NotNull Biome getBiome(int x, int z) {
+            return Biome.PLAINS;
+        }
+
+        @Override
+        public @NotNull Biome getBiome(int x, int y, int z) {
+            return Biome.PLAINS;
+        }
+
+        @Override
+        public double getRawBiomeTemperature(int x, int z) {
+            return 0.8;
+        }
+
+        @Override
+        public double getRawBiomeTemperature(int x, int y, int z) {
+            return 0.8;
+        }
+
+        @Override
+        public long getCaptureFullTime() {
+            return 0;
+        }
+
+        @Override
+        public boolean isSectionEmpty(int sy) {
+            for(int i = sy << 12; i < (sy + 1) << 12; i++) {
+                if(!blocks[i].isAir()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean contains(@NotNull BlockData block) {
+            for(Material material : blocks) {
+                if(material == block.getMaterial()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    //ground between y = 20 and y = 35, varying across chunk and section boundaries
+    private static int groundLevel(int x, int z) {
+        return 20 + Math.floorMod(x * 3 + z, 16);
+    }
+
+    private static ChunkSnapshotGraphBuilder.BlockClassifier<Material> walkable() {
+        return (snapshot, x, y, z) -> y > 0 && snapshot.getBlockType(x, y, z).isAir() &&
+                snapshot.getBlockData(x, y - 1, z).getMaterial().isSolid() ? snapshot.getBlockType(x, y - 1, z) : null;
+    }
+
+    @Test
+    public void buildsWalkableGraph() throws InterruptedException {
+        List<ChunkSnapshot> snapshots = new ArrayList<>();
+        for(int chunkX = -1; chunkX < 1; chunkX++) {
+            for(int chunkZ = -1; chunkZ < 1; chunkZ++) {
+                snapshots.add(new FakeChunkSnapshot(chunkX, chunkZ, ChunkSnapshotGraphBuilderTest::groundLevel));
+            }
+        }
+
+        ChunkGraph<Material> graph = new ArrayChunkGraph<>(-1, -1, 1, 1);
+        AtomicInteger classified = new AtomicInteger();
+        List<Integer> progress = new ArrayList<>();
+
+        ExecutorService workerExecutor = Executors.newFixedThreadPool(4);
+        ExecutorService insertionExecutor = Executors.newSingleThreadExecutor();
+        try {
+            new ChunkSnapshotGraphBuilder<Material>(graph, (snapshot, x, y, z) -> {
+                classified.incrementAndGet();
+                return walkable().classify(snapshot, x, y, z);
+            }, workerExecutor, insertionExecutor).build(snapshots, (completed, total) -> {
+                Assertions.assertEquals(4, total);
+                progress.add(completed);
+            }).join();
+        }
+        finally {
+            workerExecutor.shutdown();
+            insertionExecutor.shutdown();
+            Assertions.assertTrue(insertionExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        for(int x = -16; x < 16; x++) {
+            for(int z = -16; z < 16; z++) {
+                int ground = groundLevel(x, z);
+                Assertions.assertEquals(Material.STONE, graph.elementAt(x, ground, z));
+                Assertions.assertNull(graph.elementAt(x, ground - 1, z));
+                Assertions.assertNull(graph.elementAt(x, ground + 1, z));
+            }
+        }
+
+        //sections 0, 1 and 2 contain stone in every chunk; of the empty sections above, only the bottom layer of
+        //section 3 is classified
+        Assertions.assertEquals(4 * (3 * 4096 + 256), classified.get());
+        Assertions.assertEquals(List.of(1, 2, 3, 4), progress);
+    }
+
+    @Test
+    public void findsSurfaceAtSectionBoundary() {
+        //stone fills section 0 exactly, so every walkable block is the bottom layer of the empty section 1
+        ChunkGraph<Material> graph = new ArrayChunkGraph<>(0, 0, 1, 1);
+        new ChunkSnapshotGraphBuilder<>(graph, walkable(), Runnable::run, Runnable::run)
+                .build(List.of(new FakeChunkSnapshot(0, 0, (x, z) -> 16))).join();
+
+        for(int x = 0; x < 16; x++) {
+            for(int z = 0; z < 16; z++) {
+                Assertions.assertEquals(Material.STONE, graph.elementAt(x, 16, z));
+                Assertions.assertNull(graph.elementAt(x, 17, z));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.zap.commons.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+public class InstrumentedChunkGraphTest {
+    private ArrayChunkGraph<String> wrapped;
+    private InstrumentedChunkGraph<String> graph;
+
+    @BeforeEach
+    public void setUp() {
+        wrapped = new ArrayChunkGraph<>(0, 0, 1, 1);
+        graph = new InstrumentedChunkGraph<>(wrapped);
+    }
+
+    @Test
+    public void countsAccesses() {
+        graph.putElement(0, 0, 0, "a");
+        graph.putElement(1, 2, 3, "b");
+
+        Assertions.assertEquals("a", graph.elementAt(0, 0, 0));
+        Assertions.assertNull(graph.elementAt(5, 5, 5));
+        Assertions.assertTrue(graph.hasElementAt(1, 2, 3));
+        Assertions.assertFalse(graph.hasElementAt(5, 5, 5));
+        Assertions.assertTrue(graph.removeElement(0, 0, 0));
+        Assertions.assertFalse(graph.removeElement(0, 0, 0));
+
+        Assertions.assertEquals(new InstrumentedChunkGraph.Metrics(4, 2, 2, 3), graph.metrics());
+
+        graph.resetMetrics();
+        Assertions.assertEquals(new InstrumentedChunkGraph.Metrics(0, 0, 0, 0), graph.metrics());
+    }
+
+    @Test
+    public void delegatesToWrappedGraph() {
+        Assertions.assertSame(wrapped, graph.wrapped());
+
+        graph.putElement(1, 2, 3, "a");
+        Assertions.assertEquals("a", wrapped.elementAt(1, 2, 3));
+        Assertions.assertEquals(1, graph.size());
+
+        wrapped.putElement(4, 5, 6, "b");
+        Assertions.assertEquals("b", graph.elementAt(4, 5, 6));
+        Assertions.assertEquals(2, graph.size());
+
+        graph.removeElement(1, 2, 3);
+        Assertions.assertFalse(wrapped.hasElementAt(1, 2, 3));
+
+        Iterator<String> iterator = graph.iterator();
+        Assertions.assertTrue(iterator.hasNext());
+        Assertions.assertEquals("b", iterator.next());
+        Assertions.assertFalse(iterator.hasNext());
+
+        //reads made directly on the wrapped graph are not counted
+        Assertions.assertEquals(new InstrumentedChunkGraph.Metrics(1, 1, 1, 0), graph.metrics());
+    }
+}
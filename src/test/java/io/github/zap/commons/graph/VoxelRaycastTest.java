@@ -0,0 +1,92 @@
+package io.github.zap.commons.graph;
+
+import io.github.zap.commons.vectors.Vector3D;
+import io.github.zap.commons.vectors.Vectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class VoxelRaycastTest {
+    private ArrayChunkGraph<Boolean> graph;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new ArrayChunkGraph<>(-4, -4, 4, 4);
+
+        //wall at x = 20 spanning two chunks along z, from y = 0 to y = 31
+        for(int y = 0; y < 32; y++) {
+            for(int z = -16; z < 16; z++) {
+                graph.putElement(20, y, z, true);
+            }
+        }
+    }
+
+    @Test
+    public void blockedByWall() {
+        VoxelRaycast.Hit<Boolean> hit = VoxelRaycast.raycast(graph, Vectors.of(0.5, 10.5, 0.5),
+                Vectors.of(40.5, 10.5, 3.5), Objects::nonNull);
+
+        Assertions.assertNotNull(hit);
+        Assertions.assertEquals(20, hit.x());
+        Assertions.assertEquals(10, hit.y());
+        Assertions.assertEquals(Boolean.TRUE, hit.element());
+    }
+
+    @Test
+    public void overWall() {
+        Assertions.assertTrue(VoxelRaycast.hasLineOfSight(graph, Vectors.of(0.5, 40.5, 0.5),
+                Vectors.of(40.5, 40.5, -10.5), Objects::nonNull));
+    }
+
+    @Test
+    public void visitsEveryCellOnce() {
+        List<int[]> visited = new ArrayList<>();
+        ChunkGraph<Boolean> recording = new InstrumentedChunkGraph<>(graph) {
+            @Override
+            public Boolean elementAt(int x, int y, int z) {
+                visited.add(new int[] {x, y, z});
+                return super.elementAt(x, y, z);
+            }
+        };
+
+        Assertions.assertNull(VoxelRaycast.raycast(recording, 0.2, 0.7, 0.1, 3.9, 2.2, -1.5, element -> false));
+
+        //|dx| + |dy| + |dz| steps, plus the starting cell
+        Assertions.assertEquals(3 + 2 + 2 + 1, visited.size());
+        for(int i = 1; i < visited.size(); i++) {
+            int[] previous = visited.get(i - 1);
+            int[] current = visited.get(i);
+            int distance = Math.abs(current[0] - previous[0]) + Math.abs(current[1] - previous[1]) +
+                    Math.abs(current[2] - previous[2]);
+            Assertions.assertEquals(1, distance);
+        }
+
+        int[] last = visited.get(visited.size() - 1);
+        Assertions.assertEquals(3, last[0]);
+        Assertions.assertEquals(2, last[1]);
+        Assertions.assertEquals(-2, last[2]);
+    }
+
+    @Test
+    public void batch() {
+        Vector3D origin = Vectors.of(0.5, 10.5, 0.5);
+        List<Vector3D> targets = List.of(Vectors.of(30.5, 10.5, 0.5), Vectors.of(19.5, 10.5, 10.5),
+                Vectors.of(0.5, 60.5, 0.5), Vectors.of(30.5, 10.5, -15.5));
+
+        boolean[] visible = VoxelRaycast.hasLineOfSightAll(graph, origin, targets, Objects::nonNull);
+        List<VoxelRaycast.Hit<Boolean>> hits = VoxelRaycast.raycastAll(graph, origin, targets, Objects::nonNull);
+
+        Assertions.assertFalse(visible[0]);
+        Assertions.assertTrue(visible[1]);
+        Assertions.assertTrue(visible[2]);
+        Assertions.assertFalse(visible[3]);
+
+        for(int i = 0; i < visible.length; i++) {
+            Assertions.assertEquals(visible[i], hits.get(i) == null);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.zap.commons.graph;
+
+import io.github.zap.commons.ObjectDisposedException;
+import org.bukkit.World;
+import org.bukkit.event.EventException;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+public class WorldChunkGraphRegistryTest {
+    private static World world(UUID uid) {
+        return (World)Proxy.newProxyInstance(World.class.getClassLoader(), new Class[] {World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUID" -> uid;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private final Plugin plugin = (Plugin)Proxy.newProxyInstance(Plugin.class.getClassLoader(),
+            new Class[] {Plugin.class}, (proxy, method, args) -> switch (method.getName()) {
+                case "getLogger" -> Logger.getAnonymousLogger();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> null;
+            });
+
+    private final World world = world(UUID.randomUUID());
+    private final World otherWorld = world(UUID.randomUUID());
+    private final List<World> created = new ArrayList<>();
+    private WorldChunkGraphRegistry<String> registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new WorldChunkGraphRegistry<>(plugin, world -> {
+            created.add(world);
+            return new ArrayChunkGraph<>(0, 0, 1, 1);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry.dispose();
+    }
+
+    private static void unload(World world, boolean cancelled) throws EventException {
+        WorldUnloadEvent event = new WorldUnloadEvent(world);
+        event.setCancelled(cancelled);
+
+        for(RegisteredListener listener : WorldUnloadEvent.getHandlerList().getRegisteredListeners()) {
+            listener.callEvent(event);
+        }
+    }
+
+    @Test
+    public void createsOneGraphPerWorld() {
+        ChunkGraph<String> graph = registry.graphFor(world);
+        Assertions.assertSame(graph, registry.graphFor(world));
+        Assertions.assertSame(graph, registry.getGraph(world.getUID()));
+        Assertions.assertNotSame(graph, registry.graphFor(otherWorld));
+
+        Assertions.assertEquals(List.of(world, otherWorld), created);
+        Assertions.assertEquals(2, registry.size());
+        Assertions.assertNull(registry.getGraph(UUID.randomUUID()));
+    }
+
+    @Test
+    public void release() {
+        ChunkGraph<String> graph = registry.graphFor(world);
+        registry.graphFor(otherWorld);
+
+        Assertions.assertSame(graph, registry.release(world));
+        Assertions.assertNull(registry.release(world));
+        Assertions.assertNull(registry.getGraph(world));
+        Assertions.assertEquals(1, registry.size());
+
+        Assertions.assertNotSame(graph, registry.graphFor(world));
+    }
+
+    @Test
+    public void releasedOnWorldUnload() throws EventException {
+        registry.graphFor(world);
+        registry.graphFor(otherWorld);
+
+        unload(world, true); //another listener stopped the unload
+        Assertions.assertNotNull(registry.getGraph(world));
+
+        unload(world, false);
+        Assertions.assertNull(registry.getGraph(world));
+        Assertions.assertNotNull(registry.getGraph(otherWorld));
+    }
+
+    @Test
+    public void dispose() {
+        registry.graphFor(world);
+        registry.dispose();
+
+        Assertions.assertEquals(0, registry.size());
+        Assertions.assertEquals(0, WorldUnloadEvent.getHandlerList().getRegisteredListeners().length);
+        Assertions.assertThrows(ObjectDisposedException.class, () -> registry.graphFor(world));
+
+        registry.dispose(); //disposing twice does nothing
+    }
+}